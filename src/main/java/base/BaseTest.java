@@ -14,4 +14,9 @@ public class BaseTest {
     public void tearDown() {
         DriverFactory.quitDriver();
     }
+
+    // ✅ pool-aware teardown: failed sessions are never reused
+    public void tearDown(boolean scenarioFailed) {
+        DriverFactory.releaseDriver(scenarioFailed);
+    }
 }
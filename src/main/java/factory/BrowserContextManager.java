@@ -0,0 +1,223 @@
+package factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * BrowserContextManager - "context" isolation mode.
+ *
+ * Each worker thread keeps ONE long-lived Chromium session (the host) and every
+ * scenario gets a fresh incognito-style browser context inside it, created via
+ * CDP (Target.createBrowserContext). Cookies, storage and cache are isolated per
+ * context, but no new browser process is launched.
+ *
+ * - Only Chromium sessions exposing CDP are supported; callers fall back to a
+ *   full session when open() returns null
+ * - The host is quit when a scenario fails or at shutdown
+ *
+ * Only used by DriverFactory when driver.isolation=context or @browserContext.
+ */
+final class BrowserContextManager {
+
+    private static final Logger logger = LogManager.getLogger(BrowserContextManager.class);
+
+    private final Supplier<WebDriver> launcher;
+
+    private final ThreadLocal<WebDriver> host = new ThreadLocal<>();
+    // How long this thread's host took to launch: the cost every later context avoids
+    private final ThreadLocal<Long> hostLaunchMillis = new ThreadLocal<>();
+    private final ThreadLocal<OpenContext> current = new ThreadLocal<>();
+
+    // Every host, so shutdown() can reach those owned by other threads
+    private final Set<WebDriver> hosts = ConcurrentHashMap.newKeySet();
+
+    // Once the browser turns out not to support CDP contexts at all, stop trying
+    private volatile boolean unsupported;
+
+    BrowserContextManager(Supplier<WebDriver> launcher) {
+        this.launcher = launcher;
+    }
+
+    /**
+     * Opens a fresh browser context on this worker's host browser and switches
+     * the host into it. Returns null if contexts are not available, in which
+     * case the caller should create a full session.
+     */
+    WebDriver open() {
+
+        if (unsupported) {
+            return null;
+        }
+
+        WebDriver browser = host.get();
+        if (browser == null) {
+            long start = System.nanoTime();
+            browser = launcher.get();
+            hostLaunchMillis.set((System.nanoTime() - start) / 1_000_000);
+            if (!(browser instanceof HasCdp)) {
+                logger.info("Browser context isolation needs a Chromium/CDP session. Falling back to full sessions.");
+                unsupported = true;
+                quitQuietly(browser);
+                return null;
+            }
+            host.set(browser);
+            hosts.add(browser);
+        }
+
+        HasCdp cdp = (HasCdp) browser;
+        String defaultHandle = browser.getWindowHandle();
+        String contextId = null;
+
+        try {
+            Set<String> before = new HashSet<>(browser.getWindowHandles());
+
+            contextId = (String) cdp.executeCdpCommand(
+                    "Target.createBrowserContext", Map.of("disposeOnDetach", false)
+            ).get("browserContextId");
+
+            String targetId = (String) cdp.executeCdpCommand(
+                    "Target.createTarget", Map.of("url", "about:blank", "browserContextId", contextId)
+            ).get("targetId");
+
+            String handle = findHandle(browser, before, targetId);
+            browser.switchTo().window(handle);
+            // Same viewport as a full session (createDriver maximizes only the host window)
+            browser.manage().window().maximize();
+
+            current.set(new OpenContext(contextId, handle, defaultHandle));
+            logger.info("Opened browser context {} for thread: {}", contextId, Thread.currentThread().getName());
+            return browser;
+
+        } catch (Exception e) {
+            dispose(cdp, contextId);
+            quitHost();
+
+            if (isMissingCdpMethod(e)) {
+                logger.warn("Browser contexts not supported by this browser, falling back to full sessions: {}",
+                        e.getMessage());
+                unsupported = true;
+            } else {
+                // Transient: only this scenario falls back; the next one gets a new host
+                logger.warn("Unable to open a browser context on thread {}, using a full session for this scenario: {}",
+                        Thread.currentThread().getName(), e.getMessage());
+            }
+            return null;
+        }
+    }
+
+    long hostLaunchMillis() {
+        Long millis = hostLaunchMillis.get();
+        return millis == null ? 0 : millis;
+    }
+
+    boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Disposes the current scenario's context. The host browser is kept for the
+     * next scenario unless the scenario failed.
+     */
+    void close(boolean scenarioFailed) {
+
+        OpenContext ctx = current.get();
+        current.remove();
+        WebDriver browser = host.get();
+
+        if (ctx == null || browser == null) {
+            return;
+        }
+
+        if (scenarioFailed) {
+            logger.info("Scenario failed — quitting host browser instead of reusing it.");
+            quitHost();
+            return;
+        }
+
+        try {
+            // Disposing the context also closes every tab opened inside it
+            dispose((HasCdp) browser, ctx.contextId);
+            browser.switchTo().window(ctx.defaultHandle);
+        } catch (Exception e) {
+            logger.warn("Failed to dispose browser context, quitting host: {}", e.getMessage());
+            quitHost();
+        }
+    }
+
+    void quitHost() {
+        current.remove();
+        WebDriver browser = host.get();
+        host.remove();
+        hostLaunchMillis.remove();
+        if (browser != null) {
+            hosts.remove(browser);
+            quitQuietly(browser);
+        }
+    }
+
+    void shutdown() {
+        hosts.forEach(BrowserContextManager::quitQuietly);
+        hosts.clear();
+    }
+
+    /* =========================
+       Internals
+       ========================= */
+
+    // chromedriver window handles are CDP target ids; fall back to the handle diff
+    private static String findHandle(WebDriver browser, Set<String> before, String targetId) {
+        Set<String> after = new HashSet<>(browser.getWindowHandles());
+        after.removeAll(before);
+
+        for (String handle : after) {
+            if (handle.endsWith(targetId)) {
+                return handle;
+            }
+        }
+        if (after.size() == 1) {
+            return after.iterator().next();
+        }
+        throw new IllegalStateException("Could not find window handle for target " + targetId);
+    }
+
+    // CDP "method not found" (-32601, "'Target.createBrowserContext' wasn't found")
+    private static boolean isMissingCdpMethod(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String msg = t.getMessage();
+            if (msg != null && (msg.contains("-32601") || msg.contains("wasn't found")
+                    || msg.toLowerCase().contains("method not found"))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void dispose(HasCdp cdp, String contextId) {
+        if (contextId == null) {
+            return;
+        }
+        try {
+            cdp.executeCdpCommand("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (Exception e) {
+            logger.debug("disposeBrowserContext failed for {}: {}", contextId, e.getMessage());
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Exception while quitting host browser: {}", e.getMessage());
+        }
+    }
+
+    private record OpenContext(String contextId, String handle, String defaultHandle) {}
+}
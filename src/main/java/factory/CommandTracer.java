@@ -0,0 +1,322 @@
+package factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+import reports.ScenarioBudget;
+import reports.ScenarioMetrics;
+import utils.ConfigReader;
+import utils.ScenarioContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * CommandTracer - optional WebDriver command tracing (driver.trace).
+ *
+ * DriverFactory wraps each session in Selenium's EventFiringDecorator with
+ * this listener. Every WebDriver / WebElement call is timed and attributed
+ * to the page-object method that issued it (innermost pages.* frame on the stack).
+ * Local accessors (manage(), window(), switchTo(), navigate(), timeouts()) make
+ * no round trip and are neither counted nor traced.
+ *
+ * - driver.trace=summary  latency histograms per command and per page class,
+ *                         written to reports/command-trace.json at shutdown
+ * - driver.trace=full     additionally one JSON line per command in
+ *                         reports/command-trace.jsonl
+ * - driver.trace=off      (default) no decorator, unless the scenario has a
+ *                         command budget — then calls are only counted
+ */
+final class CommandTracer implements WebDriverListener {
+
+    private static final Logger logger = LogManager.getLogger(CommandTracer.class);
+
+    // Upper bounds (ms) of the histogram buckets; the last bucket is open-ended
+    private static final long[] BUCKETS = {5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000};
+
+    // Return types of accessors that only hand out a local helper object
+    private static final Set<Class<?>> LOCAL_ACCESSORS = Set.of(
+            WebDriver.Options.class,
+            WebDriver.Window.class,
+            WebDriver.Timeouts.class,
+            WebDriver.Navigation.class,
+            WebDriver.TargetLocator.class
+    );
+
+    private static final StackWalker WALKER = StackWalker.getInstance();
+
+    private static final CommandTracer INSTANCE = new CommandTracer();
+
+    private final Map<String, Histogram> byCommand = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> byPage = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> byPageMethod = new ConcurrentHashMap<>();
+
+    // Start times of in-flight calls (a stack: element calls can nest inside driver calls)
+    private final ThreadLocal<Deque<Long>> started = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final boolean tracing;
+    private final boolean full;
+    private BufferedWriter writer;
+
+    private CommandTracer() {
+        this.tracing = isTracing();
+        this.full = "full".equalsIgnoreCase(mode());
+    }
+
+    /**
+     * Whether the current scenario's session should be decorated:
+     * tracing is on, or a command budget needs the calls counted.
+     */
+    static boolean isEnabled() {
+        return isTracing() || ScenarioBudget.hasCommandBudget();
+    }
+
+    private static boolean isTracing() {
+        String mode = mode();
+        return "summary".equalsIgnoreCase(mode) || "full".equalsIgnoreCase(mode);
+    }
+
+    static WebDriver decorate(WebDriver driver) {
+        return new EventFiringDecorator<>(INSTANCE).decorate(driver);
+    }
+
+    /**
+     * The real session behind a traced driver (the pool tracks sessions by identity).
+     */
+    static WebDriver unwrap(WebDriver driver) {
+        return driver instanceof WrapsDriver wraps ? wraps.getWrappedDriver() : driver;
+    }
+
+    private static String mode() {
+        return ConfigReader.getProperty("driver.trace", "off").trim();
+    }
+
+    /* =========================
+       Listener
+       ========================= */
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        if (!isLocalAccessor(method)) {
+            started.get().push(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        record(target, method, "ok");
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        Throwable cause = e.getCause() != null ? e.getCause() : e;
+        record(target, method, cause.getClass().getSimpleName());
+    }
+
+    private static boolean isLocalAccessor(Method method) {
+        return LOCAL_ACCESSORS.contains(method.getReturnType());
+    }
+
+    private void record(Object target, Method method, String result) {
+
+        if (isLocalAccessor(method)) {
+            return;
+        }
+
+        Long start = started.get().poll();
+        if (start == null) {
+            return;
+        }
+        long micros = (System.nanoTime() - start) / 1_000;
+
+        ScenarioMetrics.addCommand();
+        if (!tracing) {
+            return;
+        }
+
+        String command = (target instanceof WebElement ? "WebElement." : "WebDriver.") + method.getName();
+        String caller = caller();
+        String page = caller.contains(".") ? caller.substring(0, caller.indexOf('.')) : caller;
+        boolean error = !"ok".equals(result);
+
+        byCommand.computeIfAbsent(command, k -> new Histogram()).add(micros, error);
+        byPage.computeIfAbsent(page, k -> new Histogram()).add(micros, error);
+        byPageMethod.computeIfAbsent(caller + " → " + command, k -> new Histogram()).add(micros, error);
+
+        if (full) {
+            writeLine(new JSONObject()
+                    .put("ts", System.currentTimeMillis())
+                    .put("thread", Thread.currentThread().getName())
+                    .put("scenario", Optional.ofNullable(ScenarioContext.getScenarioName()).orElse(""))
+                    .put("command", command)
+                    .put("caller", caller)
+                    .put("result", result)
+                    .put("micros", micros));
+        }
+    }
+
+    // Innermost concrete page-object frame ("TextBox.fillForm"); BasePage helpers only
+    // when nothing more specific is on the stack; otherwise the first non-Selenium frame
+    private static String caller() {
+        return WALKER.walk(frames -> {
+            String basePage = null;
+            String fallback = null;
+            for (StackWalker.StackFrame f : (Iterable<StackWalker.StackFrame>) frames::iterator) {
+                String cls = f.getClassName();
+                String name = cls.substring(cls.lastIndexOf('.') + 1) + "." + f.getMethodName();
+                if (cls.startsWith("pages.")) {
+                    if (!cls.equals("pages.BasePage")) {
+                        return name;
+                    }
+                    if (basePage == null) {
+                        basePage = name;
+                    }
+                } else if (fallback == null && !isInfrastructure(cls)) {
+                    fallback = name;
+                }
+            }
+            return basePage != null ? basePage : fallback != null ? fallback : "unknown";
+        });
+    }
+
+    private static boolean isInfrastructure(String cls) {
+        return cls.startsWith("org.openqa.") || cls.startsWith("java.") || cls.startsWith("jdk.")
+                || cls.startsWith("com.sun.") || cls.startsWith("net.bytebuddy.")
+                || cls.equals(CommandTracer.class.getName()) || cls.contains("$Proxy");
+    }
+
+    /* =========================
+       Output
+       ========================= */
+
+    private synchronized void writeLine(JSONObject json) {
+        try {
+            if (writer == null) {
+                Path file = Path.of(System.getProperty("user.dir"), "reports", "command-trace.jsonl");
+                Files.createDirectories(file.getParent());
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            writer.write(json.toString());
+            writer.newLine();
+        } catch (IOException e) {
+            logger.warn("Unable to write command trace: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes reports/command-trace.json and logs the top commands / pages.
+     */
+    static void writeReport() {
+        INSTANCE.report();
+    }
+
+    private synchronized void report() {
+
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException ignored) {
+                // Best effort
+            }
+            writer = null;
+        }
+
+        if (byCommand.isEmpty()) {
+            return;
+        }
+
+        JSONObject json = new JSONObject()
+                .put("bucketsMs", new JSONArray(BUCKETS))
+                .put("commands", toJson(byCommand))
+                .put("pages", toJson(byPage))
+                .put("pageMethods", toJson(byPageMethod));
+
+        try {
+            Path file = Path.of(System.getProperty("user.dir"), "reports", "command-trace.json");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, json.toString(2), StandardCharsets.UTF_8);
+            logger.info("Command trace written to {}", file);
+        } catch (IOException e) {
+            logger.warn("Unable to write command-trace.json: {}", e.getMessage());
+        }
+
+        logger.info("Top page classes by WebDriver round trips:");
+        byPage.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<String, Histogram> e) -> e.getValue().count.sum()).reversed())
+                .limit(10)
+                .forEach(e -> logger.info("  {} — {} calls, {} ms total",
+                        e.getKey(), e.getValue().count.sum(), e.getValue().totalMicros.sum() / 1000));
+    }
+
+    private static JSONObject toJson(Map<String, Histogram> map) {
+        JSONObject json = new JSONObject();
+        map.forEach((key, h) -> json.put(key, h.toJson()));
+        return json;
+    }
+
+    /**
+     * Lock-free latency histogram (fixed ms buckets) with count / total / max.
+     */
+    private static final class Histogram {
+
+        final LongAdder count = new LongAdder();
+        final LongAdder errors = new LongAdder();
+        final LongAdder totalMicros = new LongAdder();
+        final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS.length + 1);
+
+        void add(long micros, boolean error) {
+            count.increment();
+            totalMicros.add(micros);
+            maxMicros.accumulate(micros);
+            if (error) {
+                errors.increment();
+            }
+
+            long millis = micros / 1000;
+            int i = 0;
+            while (i < BUCKETS.length && millis >= BUCKETS[i]) {
+                i++;
+            }
+            buckets.incrementAndGet(i);
+        }
+
+        JSONObject toJson() {
+            long n = count.sum();
+            long[] counts = new long[buckets.length()];
+            for (int i = 0; i < counts.length; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new JSONObject()
+                    .put("count", n)
+                    .put("errors", errors.sum())
+                    .put("totalMs", totalMicros.sum() / 1000)
+                    .put("avgMs", n == 0 ? 0 : totalMicros.sum() / 1000.0 / n)
+                    .put("maxMs", maxMicros.get() / 1000.0)
+                    .put("histogram", new JSONArray(counts));
+        }
+    }
+}
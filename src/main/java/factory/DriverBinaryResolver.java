@@ -0,0 +1,200 @@
+package factory;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.ConfigReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * DriverBinaryResolver - resolves the driver executable (chromedriver,
+ * msedgedriver, geckodriver) ONCE per browser per JVM.
+ *
+ * Resolution order:
+ * 1. In-process cache (already resolved by another scenario/thread)
+ * 2. Local on-disk index: {@code <browser>.<majorVersion>=<driver path>}
+ * 3. WebDriverManager (network), whose result is written back to the index
+ *
+ * With driver.offline=true step 3 is skipped, so air-gapped runners fail fast
+ * with a clear message instead of hanging on network calls.
+ *
+ * Index location: driver.index.path (default ~/.cache/selenium-bdd/driver-index.properties)
+ */
+final class DriverBinaryResolver {
+
+    private static final Logger logger = LogManager.getLogger(DriverBinaryResolver.class);
+
+    private static final Pattern VERSION = Pattern.compile("(\\d+)(\\.\\d+)+");
+
+    private static final Map<String, String> RESOLVED = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {}
+
+    /**
+     * Makes sure the driver system property for this browser points at a
+     * usable executable. Cheap after the first call.
+     */
+    static void resolve(String browser) {
+        RESOLVED.computeIfAbsent(browser, DriverBinaryResolver::resolveOnce);
+    }
+
+    /* =========================
+       Resolution
+       ========================= */
+
+    private static String resolveOnce(String browser) {
+
+        long start = System.nanoTime();
+        String key = browser + "." + detectBrowserMajorVersion(browser);
+
+        Path indexFile = indexPath();
+        String indexed = readIndex(indexFile).getProperty(key);
+
+        if (indexed != null && Files.isExecutable(Path.of(indexed))) {
+            System.setProperty(driverProperty(browser), indexed);
+            logger.info("Resolved {} driver from local index ({}): {} in {} ms",
+                    browser, key, indexed, elapsedMillis(start));
+            return indexed;
+        }
+
+        if (ConfigReader.getBoolean("driver.offline")) {
+            throw new IllegalStateException(
+                    "driver.offline=true but no usable driver for '" + key + "' in " + indexFile
+                            + ". Add an entry like " + key + "=/path/to/driver");
+        }
+
+        WebDriverManager wdm = manager(browser);
+        wdm.setup();
+        String path = wdm.getDownloadedDriverPath();
+
+        if (path != null) {
+            writeIndex(indexFile, key, path);
+        }
+
+        logger.info("Resolved {} driver via WebDriverManager ({}): {} in {} ms",
+                browser, key, path, elapsedMillis(start));
+        return path == null ? "" : path;
+    }
+
+    /**
+     * Browser major version without network access: driver.browserVersion
+     * override first, then "<browser binary> --version".
+     * Returns "any" if it cannot be determined.
+     */
+    private static String detectBrowserMajorVersion(String browser) {
+
+        String configured = ConfigReader.getProperty("driver.browserVersion");
+        if (configured != null && !configured.isBlank()) {
+            return majorOf(configured.trim());
+        }
+
+        try {
+            Optional<Path> binary = manager(browser).getBrowserPath();
+            if (binary.isPresent()) {
+                Process process = new ProcessBuilder(binary.get().toString(), "--version")
+                        .redirectErrorStream(true)
+                        .start();
+                String output;
+                try (InputStream is = process.getInputStream()) {
+                    output = new String(is.readAllBytes(), StandardCharsets.UTF_8);
+                }
+                process.waitFor(10, TimeUnit.SECONDS);
+
+                Matcher m = VERSION.matcher(output);
+                if (m.find()) {
+                    return m.group(1);
+                }
+            }
+        } catch (Exception e) {
+            logger.debug("Browser version detection failed for {}: {}", browser, e.getMessage());
+        }
+
+        return "any";
+    }
+
+    private static String majorOf(String version) {
+        int dot = version.indexOf('.');
+        return dot > 0 ? version.substring(0, dot) : version;
+    }
+
+    /* =========================
+       Index file
+       ========================= */
+
+    private static Path indexPath() {
+        String configured = ConfigReader.getProperty("driver.index.path");
+        if (configured != null && !configured.isBlank()) {
+            return Path.of(configured.trim());
+        }
+        return Path.of(System.getProperty("user.home"), ".cache", "selenium-bdd", "driver-index.properties");
+    }
+
+    private static Properties readIndex(Path file) {
+        Properties index = new Properties();
+        if (Files.isRegularFile(file)) {
+            try (InputStream is = Files.newInputStream(file)) {
+                index.load(is);
+            } catch (IOException e) {
+                logger.warn("Unable to read driver index {}: {}", file, e.getMessage());
+            }
+        }
+        return index;
+    }
+
+    // Parallel JVMs may share the index, so write to a temp file and move it into place
+    private static synchronized void writeIndex(Path file, String key, String driverPath) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+
+            Properties index = readIndex(file);
+            index.setProperty(key, driverPath);
+
+            Path tmp = Files.createTempFile(file.toAbsolutePath().getParent(), "driver-index", ".tmp");
+            try (OutputStream os = Files.newOutputStream(tmp)) {
+                index.store(os, "browser.majorVersion=driver path");
+            }
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            logger.warn("Unable to update driver index {}: {}", file, e.getMessage());
+        }
+    }
+
+    /* =========================
+       Helpers
+       ========================= */
+
+    private static WebDriverManager manager(String browser) {
+        return switch (browser) {
+            case "firefox" -> WebDriverManager.firefoxdriver();
+            case "edge" -> WebDriverManager.edgedriver();
+            default -> WebDriverManager.chromedriver();
+        };
+    }
+
+    private static String driverProperty(String browser) {
+        return switch (browser) {
+            case "firefox" -> "webdriver.gecko.driver";
+            case "edge" -> "webdriver.edge.driver";
+            default -> "webdriver.chrome.driver";
+        };
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
@@ -1,6 +1,5 @@
 package factory;
 
-import io.github.bonigarcia.wdm.WebDriverManager;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.*;
@@ -12,6 +11,8 @@ import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
 import org.openqa.selenium.remote.RemoteWebDriver;
 import utils.ConfigReader;
+import utils.JfrEvents;
+import utils.ScenarioContext;
 
 import java.net.URL;
 import java.time.Duration;
@@ -22,84 +23,358 @@ public class DriverFactory {
     private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
     private static final Logger logger = LogManager.getLogger(DriverFactory.class);
 
+    private static volatile DriverPool pool;
+    private static volatile DriverPrewarmer prewarmer;
+    private static volatile BrowserContextManager contextManager;
+
+    // How long the current scenario waited for its driver vs. how long the launch took
+    private static final ThreadLocal<StartupTiming> startupTiming = new ThreadLocal<>();
+
     public static WebDriver initializeDriver() {
 
         if (driver.get() == null) {
 
+            long start = System.nanoTime();
+            JfrEvents.DriverSessionEvent event =
+                    JfrEvents.beginDriverSession("create", ConfigReader.getProperty("browser"));
+            String source = "new";
+
+            WebDriver contextDriver = useBrowserContext() ? getContextManager().open() : null;
+
+            if (contextDriver != null) {
+                driver.set(contextDriver);
+                source = "context";
+                // Launch cost of the host browser the context was opened in
+                startupTiming.set(new StartupTiming(contextManager.hostLaunchMillis(), elapsedMillis(start)));
+
+            } else if (isPoolEnabled()) {
+                DriverPool current = getPool();
+                driver.set(current.lease());
+                source = "pool";
+                logger.info("Leased pooled driver for thread: {}", Thread.currentThread().getName());
+                // Launch cost of the pooled session when it was first created
+                startupTiming.set(new StartupTiming(current.launchMillis(driver.get()), elapsedMillis(start)));
+
+            } else if (isPrewarmEnabled()) {
+                // Resolved here: the pre-warm thread can't see this worker's name or config overrides
+                DriverSettings settings = DriverSettings.current();
+                String profile = settings.profile();
+                DriverPrewarmer.Warmed warmed = getPrewarmer().take(profile);
+
+                if (warmed != null) {
+                    driver.set(warmed.driver());
+                    source = "prewarm";
+                    startupTiming.set(new StartupTiming(warmed.launchMillis(), elapsedMillis(start)));
+                } else {
+                    driver.set(createDriver(settings));
+                    startupTiming.set(new StartupTiming(elapsedMillis(start), elapsedMillis(start)));
+                }
+
+                // Start the NEXT session for this worker while the scenario runs
+                getPrewarmer().prewarm(profile, () -> createDriver(settings));
+
+            } else {
+                driver.set(createDriver());
+                startupTiming.set(new StartupTiming(elapsedMillis(start), elapsedMillis(start)));
+            }
+
+            NetworkBlocker.apply(driver.get());
+
+            // Decorate last: pool, prewarm and CDP setup all work on the real session
+            if (CommandTracer.isEnabled()) {
+                driver.set(CommandTracer.decorate(driver.get()));
+            }
+            JfrEvents.endDriverSession(event, source);
+
+            StartupTiming timing = startupTiming.get();
+            if (timing.hiddenMillis() > 0) {
+                logger.info("Driver ready in {} ms (launch {} ms, {} ms hidden by {}).",
+                        timing.blockedMillis(), timing.launchMillis(), timing.hiddenMillis(), source);
+            } else {
+                logger.info("Driver ready in {} ms ({}).", timing.blockedMillis(), source);
+            }
+        }
+
+        return driver.get();
+    }
+
+    /**
+     * Startup timing of the current thread's driver.
+     *
+     * @param launchMillis  time it took to launch the session (pool / context: when it was first launched)
+     * @param blockedMillis time the scenario thread actually waited for it
+     */
+    public record StartupTiming(long launchMillis, long blockedMillis) {
+
+        /** Startup latency that was overlapped with a previous scenario. */
+        public long hiddenMillis() {
+            return Math.max(0, launchMillis - blockedMillis);
+        }
+    }
+
+    public static StartupTiming getStartupTiming() {
+        return startupTiming.get();
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Launches and configures a brand-new session for the configured
+     * browser and execution mode, as seen by the calling thread.
+     */
+    private static WebDriver createDriver() {
+        return createDriver(DriverSettings.current());
+    }
+
+    private static WebDriver createDriver(DriverSettings settings) {
+
+        logger.info("Execution mode: {}", settings.execution());
+        logger.info("Browser: {}", settings.browser());
+
+        WebDriver webDriver;
+
+        if ("remote".equalsIgnoreCase(settings.execution())) {
+            webDriver = initRemoteDriver(settings);
+        } else {
+            webDriver = initLocalDriver(settings);
+        }
+
+        webDriver.manage().window().maximize();
+        webDriver.manage().deleteAllCookies();
+
+        webDriver.manage().timeouts().implicitlyWait(
+                Duration.ofSeconds(settings.implicitWait())
+        );
+
+        webDriver.manage().timeouts().pageLoadTimeout(
+                Duration.ofSeconds(settings.pageLoadTimeout())
+        );
+
+        // Observer waits and script actions run inside one executeAsyncScript call each
+        if (settings.scriptTimeout() > 0) {
+            webDriver.manage().timeouts().scriptTimeout(
+                    Duration.ofSeconds(settings.scriptTimeout())
+            );
+        }
+
+        logger.info("Driver initialized successfully.");
+        return webDriver;
+    }
+
+    /**
+     * Every config value a launch reads, resolved on the scenario thread so a
+     * launch on another thread (pre-warm) gets the worker's overrides and name.
+     */
+    private record DriverSettings(
+            String execution,
+            String browser,
+            boolean headless,
+            boolean sharedService,
+            int implicitWait,
+            int pageLoadTimeout,
+            int scriptTimeout,
+            String bsUsername,
+            String bsAccessKey,
+            String bsUrl,
+            String bsBrowserVersion,
+            String bsOs,
+            String bsOsVersion,
+            String sessionName
+    ) {
+
+        static DriverSettings current() {
+
             // ConfigReader already handles:
             // -Dexecution
             // ENV variable
             // config file
-            String execution = ConfigReader.getProperty("execution");
-            String browser = ConfigReader.getProperty("browser").toLowerCase();
+            boolean inPageWaits = "observer".equalsIgnoreCase(ConfigReader.getProperty("wait.engine"))
+                    || "script".equalsIgnoreCase(ConfigReader.getProperty("action.engine"));
+
+            return new DriverSettings(
+                    ConfigReader.getProperty("execution"),
+                    ConfigReader.getProperty("browser").toLowerCase(),
+                    ConfigReader.getBoolean("headless"),
+                    ConfigReader.getBoolean("driver.sharedService"),
+                    ConfigReader.getInt("implicitWait"),
+                    ConfigReader.getInt("pageLoadTimeout"),
+                    inPageWaits ? Math.max(30, ConfigReader.getInt("explicitWait") + 5) : 0,
+                    ConfigReader.getProperty("bs.username"),
+                    ConfigReader.getProperty("bs.accessKey"),
+                    ConfigReader.getProperty("bs.url"),
+                    ConfigReader.getProperty("bs.browserVersion"),
+                    ConfigReader.getProperty("bs.os"),
+                    ConfigReader.getProperty("bs.osVersion"),
+                    Thread.currentThread().getName()
+            );
+        }
 
-            logger.info("Execution mode: {}", execution);
-            logger.info("Browser: {}", browser);
+        // A pre-warmed session is only reusable if it was launched for the same settings
+        String profile() {
+            return execution + "|" + browser + "|" + headless;
+        }
+    }
 
-            if ("remote".equalsIgnoreCase(execution)) {
-                driver.set(initRemoteDriver(browser));
-            } else {
-                driver.set(initLocalDriver(browser));
+    // ---------------- POOL ----------------
+
+    private static boolean isPoolEnabled() {
+        return ConfigReader.getBoolean("driver.pool");
+    }
+
+    private static DriverPool getPool() {
+        DriverPool current = pool;
+        if (current == null) {
+            synchronized (DriverFactory.class) {
+                current = pool;
+                if (current == null) {
+                    current = new DriverPool(
+                            DriverFactory::createDriver,
+                            ConfigReader.getInt("driver.pool.size", 2),
+                            ConfigReader.getInt("driver.pool.maxReuse", 20),
+                            ConfigReader.getInt("driver.pool.leaseTimeoutMs", 120_000)
+                    );
+                    pool = current;
+                    logger.info("Driver pool enabled.");
+                }
             }
+        }
+        return current;
+    }
+
+    // ---------------- BROWSER CONTEXTS ----------------
 
-            WebDriver webDriver = driver.get();
+    // @browserContext opts a scenario in, @fullSession opts it out of driver.isolation=context
+    private static boolean useBrowserContext() {
+        if (!"local".equalsIgnoreCase(ConfigReader.getProperty("execution"))
+                || ScenarioContext.hasTag("@fullSession")) {
+            return false;
+        }
+        return ScenarioContext.hasTag("@browserContext")
+                || "context".equalsIgnoreCase(ConfigReader.getProperty("driver.isolation"));
+    }
 
-            webDriver.manage().window().maximize();
-            webDriver.manage().deleteAllCookies();
+    private static BrowserContextManager getContextManager() {
+        BrowserContextManager current = contextManager;
+        if (current == null) {
+            synchronized (DriverFactory.class) {
+                current = contextManager;
+                if (current == null) {
+                    current = new BrowserContextManager(DriverFactory::createDriver);
+                    contextManager = current;
+                }
+            }
+        }
+        return current;
+    }
 
-            webDriver.manage().timeouts().implicitlyWait(
-                    Duration.ofSeconds(ConfigReader.getInt("implicitWait"))
-            );
+    private static boolean inBrowserContext() {
+        BrowserContextManager current = contextManager;
+        return current != null && current.isActive();
+    }
 
-            webDriver.manage().timeouts().pageLoadTimeout(
-                    Duration.ofSeconds(ConfigReader.getInt("pageLoadTimeout"))
-            );
+    // ---------------- PRE-WARM ----------------
+
+    private static boolean isPrewarmEnabled() {
+        return ConfigReader.getBoolean("driver.prewarm");
+    }
 
-            logger.info("Driver initialized successfully.");
+    private static DriverPrewarmer getPrewarmer() {
+        DriverPrewarmer current = prewarmer;
+        if (current == null) {
+            synchronized (DriverFactory.class) {
+                current = prewarmer;
+                if (current == null) {
+                    current = new DriverPrewarmer();
+                    prewarmer = current;
+                    logger.info("Driver pre-warming enabled.");
+                }
+            }
         }
+        return current;
+    }
 
-        return driver.get();
+    /**
+     * Records the current scenario's blocked requests (count, bytes saved) in the
+     * scenario metrics and returns a summary line, or null if nothing was blocked.
+     */
+    public static String recordNetworkBlocking() {
+        return NetworkBlocker.record();
+    }
+
+    /**
+     * Pool hit/miss and lease-wait metrics, or null when pooling is off.
+     */
+    public static String getPoolStats() {
+        DriverPool current = pool;
+        return current == null ? null : current.stats();
     }
 
     // ---------------- LOCAL DRIVER ----------------
 
-    private static WebDriver initLocalDriver(String browser) {
+    private static WebDriver initLocalDriver(DriverSettings settings) {
+
+        String browser = settings.browser();
+        boolean headless = settings.headless();
+
+        if (settings.sharedService()) {
+            if (DriverServiceManager.supports(browser)) {
+                return DriverServiceManager.newSession(browser, localOptions(browser, headless));
+            }
+            logger.info("driver.sharedService is not supported for {}. Using a dedicated driver process.", browser);
+        }
+
+        switch (browser) {
+
+            case "firefox":
+                DriverBinaryResolver.resolve(browser);
+                return new FirefoxDriver((FirefoxOptions) localOptions(browser, headless));
+
+            case "edge":
+                DriverBinaryResolver.resolve(browser);
+                return new EdgeDriver((EdgeOptions) localOptions(browser, headless));
+
+            case "chrome":
+            default:
+                DriverBinaryResolver.resolve("chrome");
+                return new ChromeDriver((ChromeOptions) localOptions(browser, headless));
+        }
+    }
 
-        boolean headless = ConfigReader.getBoolean("headless");
+    private static MutableCapabilities localOptions(String browser, boolean headless) {
 
         switch (browser) {
 
             case "firefox":
-                WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
                 if (headless) firefoxOptions.addArguments("--headless");
-                return new FirefoxDriver(firefoxOptions);
+                return firefoxOptions;
 
             case "edge":
-                WebDriverManager.edgedriver().setup();
                 EdgeOptions edgeOptions = new EdgeOptions();
                 if (headless) edgeOptions.addArguments("--headless=new");
-                return new EdgeDriver(edgeOptions);
+                return edgeOptions;
 
             case "chrome":
             default:
-                WebDriverManager.chromedriver().setup();
                 ChromeOptions chromeOptions = new ChromeOptions();
                 if (headless) chromeOptions.addArguments("--headless=new");
                 chromeOptions.addArguments("--remote-allow-origins=*");
-                return new ChromeDriver(chromeOptions);
+                return chromeOptions;
         }
     }
 
     // ---------------- REMOTE DRIVER (BrowserStack) ----------------
 
-    private static WebDriver initRemoteDriver(String browser) {
+    private static WebDriver initRemoteDriver(DriverSettings settings) {
 
         try {
 
-            String username = ConfigReader.getProperty("bs.username");
-            String accessKey = ConfigReader.getProperty("bs.accessKey");
-            String baseUrl = ConfigReader.getProperty("bs.url");
+            String browser = settings.browser();
+            String username = settings.bsUsername();
+            String accessKey = settings.bsAccessKey();
+            String baseUrl = settings.bsUrl();
 
             if (username == null || accessKey == null) {
                 throw new RuntimeException("BrowserStack credentials missing!");
@@ -114,18 +389,18 @@ public class DriverFactory {
 
                 case "firefox":
                     FirefoxOptions firefoxOptions = new FirefoxOptions();
-                    setBrowserStackCapabilities(firefoxOptions);
+                    setBrowserStackCapabilities(firefoxOptions, settings);
                     return new RemoteWebDriver(new URL(hubUrl), firefoxOptions);
 
                 case "edge":
                     EdgeOptions edgeOptions = new EdgeOptions();
-                    setBrowserStackCapabilities(edgeOptions);
+                    setBrowserStackCapabilities(edgeOptions, settings);
                     return new RemoteWebDriver(new URL(hubUrl), edgeOptions);
 
                 case "chrome":
                 default:
                     ChromeOptions chromeOptions = new ChromeOptions();
-                    setBrowserStackCapabilities(chromeOptions);
+                    setBrowserStackCapabilities(chromeOptions, settings);
                     return new RemoteWebDriver(new URL(hubUrl), chromeOptions);
             }
 
@@ -134,16 +409,16 @@ public class DriverFactory {
         }
     }
 
-    private static void setBrowserStackCapabilities(MutableCapabilities options) {
+    private static void setBrowserStackCapabilities(MutableCapabilities options, DriverSettings settings) {
 
         options.setCapability("browserVersion",
-                ConfigReader.getProperty("bs.browserVersion"));
+                settings.bsBrowserVersion());
 
         options.setCapability("bstack:options", Map.of(
-                "os", ConfigReader.getProperty("bs.os"),
-                "osVersion", ConfigReader.getProperty("bs.osVersion"),
+                "os", settings.bsOs(),
+                "osVersion", settings.bsOsVersion(),
                 "buildName", "BDD_Framework_Build",
-                "sessionName", Thread.currentThread().getName()
+                "sessionName", settings.sessionName()
         ));
     }
 
@@ -159,15 +434,85 @@ public class DriverFactory {
 
         if (drv != null) {
             logger.info("Quitting driver for thread: {}", Thread.currentThread().getName());
+            JfrEvents.DriverSessionEvent event =
+                    JfrEvents.beginDriverSession("quit", ConfigReader.getProperty("browser"));
+            String source = inBrowserContext() ? "context" : pool != null ? "pool" : "new";
             try {
-                drv.quit();
+                if (inBrowserContext()) {
+                    contextManager.quitHost();
+                } else if (pool != null) {
+                    pool.discard(CommandTracer.unwrap(drv));
+                } else {
+                    drv.quit();
+                }
             } catch (Exception e) {
                 logger.warn("Exception while quitting driver: {}", e.getMessage(), e);
             } finally {
+                JfrEvents.endDriverSession(event, source);
                 driver.remove();
+                startupTiming.remove();
             }
         }else {
             logger.info("quitDriver() called but driver was already null for this thread.");
         }
     }
+
+    /**
+     * End-of-scenario hand-back. In context isolation the scenario's browser
+     * context is disposed; with pooling the session is reset and returned to
+     * the pool (or retired when the scenario failed); otherwise it is quit.
+     */
+    public static void releaseDriver(boolean scenarioFailed) {
+
+        WebDriver drv = driver.get();
+
+        if (drv != null && inBrowserContext()) {
+            JfrEvents.DriverSessionEvent event =
+                    JfrEvents.beginDriverSession("release", ConfigReader.getProperty("browser"));
+            try {
+                contextManager.close(scenarioFailed);
+            } finally {
+                JfrEvents.endDriverSession(event, "context");
+                driver.remove();
+                startupTiming.remove();
+            }
+            return;
+        }
+
+        if (drv == null || pool == null) {
+            quitDriver();
+            return;
+        }
+
+        JfrEvents.DriverSessionEvent event =
+                JfrEvents.beginDriverSession("release", ConfigReader.getProperty("browser"));
+        try {
+            pool.release(CommandTracer.unwrap(drv), scenarioFailed);
+        } finally {
+            JfrEvents.endDriverSession(event, "pool");
+            driver.remove();
+            startupTiming.remove();
+        }
+    }
+
+    /**
+     * Quits every idle pooled or pre-warmed session and stops shared driver
+     * services. Called once after all scenarios.
+     */
+    public static void shutdown() {
+        DriverPool current = pool;
+        if (current != null) {
+            current.shutdown();
+        }
+        DriverPrewarmer warmer = prewarmer;
+        if (warmer != null) {
+            warmer.shutdown();
+        }
+        BrowserContextManager contexts = contextManager;
+        if (contexts != null) {
+            contexts.shutdown();
+        }
+        DriverServiceManager.stopAll();
+        CommandTracer.writeReport();
+    }
 }
@@ -0,0 +1,260 @@
+package factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * DriverPool - keeps warm WebDriver sessions and leases them to scenario threads.
+ *
+ * - At most {@code size} sessions are alive at any time (leased + idle)
+ * - Sessions are reset (cookies, storage, extra tabs, about:blank) when released
+ * - A session is quit after {@code maxReuse} leases, on scenario failure,
+ *   or when the reset itself fails
+ *
+ * Only used by DriverFactory when driver.pool=true.
+ */
+final class DriverPool {
+
+    private static final Logger logger = LogManager.getLogger(DriverPool.class);
+
+    private final Supplier<WebDriver> launcher;
+    private final int size;
+    private final int maxReuse;
+    private final long leaseTimeoutMillis;
+
+    // Permits cap the number of live sessions (leased + idle)
+    private final Semaphore permits;
+    private final BlockingDeque<PooledSession> idle = new LinkedBlockingDeque<>();
+    private final Map<WebDriver, PooledSession> leased = new ConcurrentHashMap<>();
+
+    /* =========================
+       Metrics
+       ========================= */
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder retired = new LongAdder();
+    private final LongAdder leaseWaitNanos = new LongAdder();
+    private final AtomicLong maxLeaseWaitNanos = new AtomicLong();
+
+    DriverPool(Supplier<WebDriver> launcher, int size, int maxReuse, long leaseTimeoutMillis) {
+        this.launcher = launcher;
+        this.size = Math.max(1, size);
+        this.maxReuse = Math.max(1, maxReuse);
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.permits = new Semaphore(this.size, true);
+    }
+
+    /* =========================
+       Lease / release
+       ========================= */
+
+    WebDriver lease() {
+
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(leaseTimeoutMillis);
+
+        try {
+            while (true) {
+
+                PooledSession session = idle.pollFirst();
+                if (session != null) {
+                    hits.increment();
+                    return checkout(session, start);
+                }
+
+                if (permits.tryAcquire()) {
+                    misses.increment();
+                    try {
+                        long launchStart = System.nanoTime();
+                        WebDriver launched = launcher.get();
+                        return checkout(new PooledSession(launched,
+                                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launchStart)), start);
+                    } catch (RuntimeException e) {
+                        permits.release();
+                        throw e;
+                    }
+                }
+
+                // Pool exhausted: wait for another thread to release a session
+                session = idle.pollFirst(50, TimeUnit.MILLISECONDS);
+                if (session != null) {
+                    hits.increment();
+                    return checkout(session, start);
+                }
+
+                if (System.nanoTime() > deadline) {
+                    throw new IllegalStateException(
+                            "Timed out after " + leaseTimeoutMillis
+                                    + " ms waiting for a pooled driver (driver.pool.size=" + size + ")");
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a pooled driver", e);
+        }
+    }
+
+    /**
+     * How long a leased session took to launch when it was first created.
+     */
+    long launchMillis(WebDriver driver) {
+        PooledSession session = leased.get(driver);
+        return session == null ? 0 : session.launchMillis;
+    }
+
+    void release(WebDriver driver, boolean failed) {
+
+        PooledSession session = leased.remove(driver);
+        if (session == null) {
+            logger.warn("Released a driver that was not leased from the pool. Quitting it.");
+            quitQuietly(driver);
+            return;
+        }
+
+        if (failed) {
+            logger.info("Scenario failed — retiring pooled driver after {} use(s).", session.uses);
+            retire(session);
+        } else if (session.uses >= maxReuse) {
+            logger.info("Pooled driver reached max reuse ({}) — retiring.", maxReuse);
+            retire(session);
+        } else if (!reset(driver)) {
+            retire(session);
+        } else {
+            // LIFO keeps the most recently used (hottest) session in front
+            idle.offerFirst(session);
+        }
+    }
+
+    /**
+     * Removes a leased driver from the pool and quits it (e.g. explicit quitDriver()).
+     */
+    void discard(WebDriver driver) {
+        PooledSession session = leased.remove(driver);
+        if (session != null) {
+            retire(session);
+        } else {
+            quitQuietly(driver);
+        }
+    }
+
+    void shutdown() {
+        List<PooledSession> remaining = new ArrayList<>();
+        idle.drainTo(remaining);
+        remaining.forEach(this::retire);
+        logger.info("Driver pool shut down. {}", stats());
+    }
+
+    /* =========================
+       Metrics
+       ========================= */
+
+    String stats() {
+        long leases = hits.sum() + misses.sum();
+        double avgWaitMs = leases == 0 ? 0 : leaseWaitNanos.sum() / 1_000_000.0 / leases;
+        return String.format(
+                "Pool stats: size=%d, leases=%d, hits=%d, misses=%d, retired=%d, "
+                        + "avgLeaseWait=%.1f ms, maxLeaseWait=%.1f ms",
+                size, leases, hits.sum(), misses.sum(), retired.sum(),
+                avgWaitMs, maxLeaseWaitNanos.get() / 1_000_000.0);
+    }
+
+    /* =========================
+       Internals
+       ========================= */
+
+    private WebDriver checkout(PooledSession session, long leaseStart) {
+        long waited = System.nanoTime() - leaseStart;
+        leaseWaitNanos.add(waited);
+        maxLeaseWaitNanos.accumulateAndGet(waited, Math::max);
+
+        session.uses++;
+        leased.put(session.driver, session);
+        return session.driver;
+    }
+
+    private void retire(PooledSession session) {
+        quitQuietly(session.driver);
+        retired.increment();
+        permits.release();
+    }
+
+    /**
+     * Brings a session back to a clean state. Returns false if the session
+     * is unusable and must be retired.
+     */
+    private boolean reset(WebDriver driver) {
+        try {
+            dismissAlert(driver);
+
+            Set<String> handles = driver.getWindowHandles();
+            String main = handles.iterator().next();
+            for (String handle : handles) {
+                if (!handle.equals(main)) {
+                    driver.switchTo().window(handle).close();
+                }
+            }
+            driver.switchTo().window(main);
+
+            ((JavascriptExecutor) driver).executeScript(
+                    "try { window.localStorage.clear(); window.sessionStorage.clear(); } catch (e) {}");
+            driver.manage().deleteAllCookies();
+
+            // deleteAllCookies() only covers the current domain; Chromium can wipe all of them
+            if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+            }
+
+            driver.get("about:blank");
+            return true;
+
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled driver, retiring it: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void dismissAlert(WebDriver driver) {
+        try {
+            driver.switchTo().alert().dismiss();
+        } catch (NoAlertPresentException ignored) {
+            // nothing open
+        }
+    }
+
+    private static void quitQuietly(WebDriver driver) {
+        try {
+            driver.quit();
+        } catch (Exception e) {
+            logger.warn("Exception while quitting pooled driver: {}", e.getMessage());
+        }
+    }
+
+    private static final class PooledSession {
+        private final WebDriver driver;
+        private final long launchMillis;
+        private int uses;
+
+        private PooledSession(WebDriver driver, long launchMillis) {
+            this.driver = driver;
+            this.launchMillis = launchMillis;
+        }
+    }
+}
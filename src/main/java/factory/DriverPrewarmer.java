@@ -0,0 +1,136 @@
+package factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * DriverPrewarmer - launches the NEXT session for a worker thread in the
+ * background while the current scenario is running.
+ *
+ * - One pending session per worker thread (ThreadLocal)
+ * - A pending session is only handed out if it was launched with the same
+ *   driver profile (execution + browser + headless); otherwise it is discarded
+ *
+ * Only used by DriverFactory when driver.prewarm=true.
+ */
+final class DriverPrewarmer {
+
+    private static final Logger logger = LogManager.getLogger(DriverPrewarmer.class);
+
+    private final ThreadLocal<Pending> next = new ThreadLocal<>();
+
+    // Every pending session, so shutdown() can reach those owned by other threads
+    private final Set<Pending> outstanding = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService executor = Executors.newCachedThreadPool(new ThreadFactoryImpl());
+
+    /**
+     * Starts launching the next session for the calling worker thread.
+     *
+     * @param launcher runs on a pre-warm thread, so it must already carry the
+     *                 worker's settings (config overrides, session name)
+     */
+    void prewarm(String profile, Supplier<WebDriver> launcher) {
+
+        if (next.get() != null) {
+            return; // already warming one
+        }
+
+        Pending pending = new Pending(profile);
+        pending.future = CompletableFuture.supplyAsync(() -> {
+            long start = System.nanoTime();
+            WebDriver d = launcher.get();
+            pending.launchMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            return d;
+        }, executor);
+
+        outstanding.add(pending);
+        next.set(pending);
+    }
+
+    /**
+     * Hands out the pre-warmed session for this worker, blocking until it is
+     * ready. Returns null if nothing usable was pre-warmed.
+     */
+    Warmed take(String profile) {
+
+        Pending pending = next.get();
+        next.remove();
+
+        if (pending == null) {
+            return null;
+        }
+        outstanding.remove(pending);
+
+        if (!pending.profile.equals(profile)) {
+            logger.info("Discarding pre-warmed driver: profile changed from [{}] to [{}]",
+                    pending.profile, profile);
+            discard(pending);
+            return null;
+        }
+
+        try {
+            WebDriver d = pending.future.join();
+            return new Warmed(d, pending.launchMillis);
+        } catch (Exception e) {
+            logger.warn("Pre-warmed driver failed to start, launching inline: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    void shutdown() {
+        outstanding.forEach(pending -> {
+            try {
+                discard(pending).get(30, TimeUnit.SECONDS);
+            } catch (Exception e) {
+                logger.warn("Pre-warmed driver was not cleaned up: {}", e.getMessage());
+            }
+        });
+        outstanding.clear();
+        executor.shutdown();
+    }
+
+    private static CompletableFuture<Void> discard(Pending pending) {
+        return pending.future.thenAccept(d -> {
+            try {
+                d.quit();
+            } catch (Exception e) {
+                logger.warn("Exception while quitting pre-warmed driver: {}", e.getMessage());
+            }
+        });
+    }
+
+    record Warmed(WebDriver driver, long launchMillis) {}
+
+    private static final class Pending {
+        private final String profile;
+        private CompletableFuture<WebDriver> future;
+        private volatile long launchMillis;
+
+        private Pending(String profile) {
+            this.profile = profile;
+        }
+    }
+
+    private static final class ThreadFactoryImpl implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread t = new Thread(r, "driver-prewarm-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.edge.EdgeDriverService;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverService;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DriverServiceManager - one long-lived chromedriver / msedgedriver process
+ * per browser type (per JVM), shared by every local session.
+ *
+ * - Sessions are created as RemoteWebDriver against the service URL, so
+ *   quitting a session does NOT stop the shared service
+ * - Drivers are augmented so Chromium-only features (CDP) keep working
+ * - The service is health-checked before each session and restarted if it died
+ *
+ * Firefox is not supported: geckodriver only allows one session per process.
+ */
+final class DriverServiceManager {
+
+    private static final Logger logger = LogManager.getLogger(DriverServiceManager.class);
+
+    private static final Map<String, DriverService> SERVICES = new ConcurrentHashMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(
+                new Thread(DriverServiceManager::stopAll, "driver-service-shutdown"));
+    }
+
+    private DriverServiceManager() {}
+
+    static boolean supports(String browser) {
+        return "chrome".equals(browser) || "edge".equals(browser);
+    }
+
+    /**
+     * Creates a new session on the shared service for this browser.
+     * If the service died underneath us, it is restarted once and the
+     * session creation retried.
+     */
+    static WebDriver newSession(String browser, Capabilities options) {
+        DriverService service = ensureRunning(browser);
+        try {
+            return new Augmenter().augment(new RemoteWebDriver(service.getUrl(), options));
+        } catch (WebDriverException e) {
+            if (service.isRunning()) {
+                throw e;
+            }
+            logger.warn("Shared {} driver service died during session creation. Restarting.", browser);
+            return new Augmenter().augment(
+                    new RemoteWebDriver(ensureRunning(browser).getUrl(), options));
+        }
+    }
+
+    static void stopAll() {
+        SERVICES.forEach((browser, service) -> {
+            try {
+                service.stop();
+                logger.info("Stopped shared {} driver service.", browser);
+            } catch (Exception e) {
+                logger.warn("Failed to stop shared {} driver service: {}", browser, e.getMessage());
+            }
+        });
+        SERVICES.clear();
+    }
+
+    /* =========================
+       Service lifecycle
+       ========================= */
+
+    private static DriverService ensureRunning(String browser) {
+        DriverService service = SERVICES.get(browser);
+        if (service != null && service.isRunning()) {
+            return service;
+        }
+
+        synchronized (SERVICES) {
+            service = SERVICES.get(browser);
+            if (service != null && service.isRunning()) {
+                return service;
+            }
+            if (service != null) {
+                logger.warn("Shared {} driver service is not running. Restarting.", browser);
+                try {
+                    service.stop();
+                } catch (Exception ignored) {
+                    // already dead
+                }
+            }
+
+            DriverService started = start(browser);
+            SERVICES.put(browser, started);
+            return started;
+        }
+    }
+
+    private static DriverService start(String browser) {
+        DriverService service;
+
+        if ("edge".equals(browser)) {
+            DriverBinaryResolver.resolve("edge");
+            service = new EdgeDriverService.Builder().usingAnyFreePort().build();
+        } else {
+            DriverBinaryResolver.resolve("chrome");
+            service = new ChromeDriverService.Builder().usingAnyFreePort().build();
+        }
+
+        try {
+            service.start();
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start shared " + browser + " driver service", e);
+        }
+
+        logger.info("Started shared {} driver service at {}", browser, service.getUrl());
+        return service;
+    }
+}
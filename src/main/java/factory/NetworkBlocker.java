@@ -0,0 +1,319 @@
+package factory;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import reports.ScenarioMetrics;
+import utils.ConfigReader;
+import utils.ScenarioContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * NetworkBlocker - fails requests for ads, analytics, fonts, media etc. before
+ * they hit the network, so page loads only wait for what the test needs.
+ *
+ * Configuration (config-<env>.properties):
+ *   network.block=true|false                                       (default false)
+ *   network.block.urls=*doubleclick.net*,*google-analytics.com*   (CDP wildcard patterns)
+ *   network.block.types=Font,Media                                 (CDP resource types)
+ *   network.block.measureBytes=true|false                          (bytes-saved estimate)
+ *
+ * Per-scenario tag overrides:
+ *   @noNetworkBlocking, @blockNetwork, @blockUrls=a,b, @blockTypes=Image,Font
+ *
+ * Uses the CDP Fetch domain when the driver exposes DevTools: the DevTools
+ * session and its listener are set up once per driver (again only when the
+ * window changes, e.g. a new browser context), and blocked requests are counted
+ * per resource type. Bytes saved are estimated from the Content-Length of one
+ * HEAD request per blocked URL, sent once per run from the test JVM (never the
+ * browser). Otherwise falls back to Network.setBlockedURLs (URL patterns only,
+ * no counters).
+ */
+final class NetworkBlocker {
+
+    private static final Logger logger = LogManager.getLogger(NetworkBlocker.class);
+
+    // Blocked requests of the scenario currently running on each thread
+    private static final ThreadLocal<Stats> STATS = new ThreadLocal<>();
+
+    // Sessions (pooled / browser-context hosts) that currently have blocking switched on
+    private static final Set<WebDriver> BLOCKING =
+            Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<>()));
+
+    // One Fetch session per driver, reused by every scenario that runs on it
+    private static final Map<WebDriver, FetchSession> SESSIONS =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Blocked URL → Content-Length (-1 when unknown), resolved once per run
+    private static final Map<String, CompletableFuture<Long>> SIZES = new ConcurrentHashMap<>();
+
+    private static volatile HttpClient http;
+
+    private NetworkBlocker() {}
+
+    /**
+     * Applies this scenario's blocklist to the driver. Never fails the scenario.
+     */
+    static void apply(WebDriver driver) {
+
+        STATS.remove();
+
+        List<String> urls = setting("network.block.urls", "@blockUrls=");
+        List<String> types = setting("network.block.types", "@blockTypes=");
+        boolean enabled = (ConfigReader.getBoolean("network.block") || ScenarioContext.hasTag("@blockNetwork"))
+                && !ScenarioContext.hasTag("@noNetworkBlocking");
+
+        // Nothing to switch on or off: skip the CDP round trips entirely
+        if (!enabled && !BLOCKING.contains(driver)) {
+            return;
+        }
+
+        try {
+            if (driver instanceof HasDevTools hasDevTools) {
+                applyWithFetch(driver, hasDevTools.getDevTools(), enabled, urls, types);
+            } else if (driver instanceof HasCdp cdp) {
+                cdp.executeCdpCommand("Network.enable", Map.of());
+                cdp.executeCdpCommand("Network.setBlockedURLs", Map.of("urls", enabled ? urls : List.of()));
+            } else {
+                logger.debug("Driver has no CDP support; network blocking skipped.");
+                return;
+            }
+
+            if (enabled) {
+                BLOCKING.add(driver);
+            } else {
+                BLOCKING.remove(driver);
+            }
+        } catch (Exception e) {
+            // Start from a fresh DevTools session next time
+            SESSIONS.remove(driver);
+            logger.warn("Unable to apply network blocking: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Records this scenario's blocked requests in {@link ScenarioMetrics} and returns
+     * e.g. "Blocked 14 request(s), ~212 KB saved: Font=3, Other=11".
+     * Null if nothing was blocked.
+     */
+    static String record() {
+
+        Stats stats = STATS.get();
+        if (stats == null || stats.byType.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Long> byType = new TreeMap<>();
+        stats.byType.forEach((type, count) -> byType.put(type, count.sum()));
+        long total = byType.values().stream().mapToLong(Long::longValue).sum();
+
+        // Sizes still being looked up (or without Content-Length) count as unknown
+        long bytes = 0;
+        long unknown = 0;
+        for (Map.Entry<String, LongAdder> url : stats.byUrl.entrySet()) {
+            CompletableFuture<Long> size = SIZES.get(url.getKey());
+            long length = size == null ? -1 : size.getNow(-1L);
+            if (length >= 0) {
+                bytes += length * url.getValue().sum();
+            } else {
+                unknown += url.getValue().sum();
+            }
+        }
+        ScenarioMetrics.setNetworkBlocked(total, bytes);
+
+        StringBuilder sb = new StringBuilder("Blocked " + total + " request(s), ~" + (bytes + 512) / 1024 + " KB saved");
+        if (unknown > 0) {
+            sb.append(" (").append(unknown).append(" of unknown size)");
+        }
+        sb.append(": ");
+        byType.forEach((type, count) -> sb.append(type).append('=').append(count).append(", "));
+        return sb.substring(0, sb.length() - 2);
+    }
+
+    /* =========================
+       Internals
+       ========================= */
+
+    private static void applyWithFetch(
+            WebDriver driver, DevTools devTools, boolean enabled, List<String> urls, List<String> types) {
+
+        String windowHandle = driver.getWindowHandle();
+        FetchSession session = SESSIONS.get(driver);
+
+        // Pooled sessions keep theirs; a browser context is a new target and needs a new one
+        if (session == null || !session.windowHandle.equals(windowHandle)) {
+            session = FetchSession.open(devTools, windowHandle);
+            SESSIONS.put(driver, session);
+        }
+
+        if (!enabled || (urls.isEmpty() && types.isEmpty())) {
+            if (session.patterns != null) {
+                devTools.send(new Command<Void>("Fetch.disable", Map.of()));
+                session.patterns = null;
+            }
+            session.stats = null;
+            return;
+        }
+
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        urls.forEach(url -> patterns.add(Map.of("urlPattern", url)));
+        types.forEach(type -> patterns.add(Map.of("urlPattern", "*", "resourceType", type)));
+
+        if (!Objects.equals(patterns, session.patterns)) {
+            devTools.send(new Command<Void>("Fetch.enable", Map.of("patterns", patterns)));
+            session.patterns = patterns;
+        }
+
+        Stats stats = new Stats(ConfigReader.getBoolean("network.block.measureBytes"));
+        session.stats = stats;
+        STATS.set(stats);
+    }
+
+    /**
+     * DevTools session of one driver. The listener stays registered for the life
+     * of the session and counts into whichever scenario currently owns it.
+     */
+    private static final class FetchSession {
+
+        private final String windowHandle;
+        private List<Map<String, Object>> patterns;
+        private volatile Stats stats;
+
+        private FetchSession(String windowHandle) {
+            this.windowHandle = windowHandle;
+        }
+
+        static FetchSession open(DevTools devTools, String windowHandle) {
+
+            devTools.clearListeners();
+            devTools.disconnectSession();
+            devTools.createSession(windowHandle);
+
+            FetchSession session = new FetchSession(windowHandle);
+
+            devTools.addListener(
+                    new Event<Map<String, Object>>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE)),
+                    paused -> {
+                        String requestId = (String) paused.get("requestId");
+                        try {
+                            devTools.send(new Command<Void>("Fetch.failRequest",
+                                    Map.of("requestId", requestId, "errorReason", "BlockedByClient")));
+                            Stats stats = session.stats;
+                            if (stats != null) {
+                                stats.add(String.valueOf(paused.getOrDefault("resourceType", "Other")), url(paused));
+                            }
+                        } catch (Exception e) {
+                            // Never leave a request hanging
+                            devTools.send(new Command<Void>("Fetch.continueRequest", Map.of("requestId", requestId)));
+                        }
+                    });
+
+            return session;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static String url(Map<String, Object> paused) {
+            Object request = paused.get("request");
+            return request instanceof Map<?, ?> map ? String.valueOf(((Map<String, Object>) map).get("url")) : null;
+        }
+    }
+
+    /**
+     * Blocked requests of one scenario. Written on the CDP connection thread,
+     * read on the scenario thread.
+     */
+    private static final class Stats {
+
+        private final Map<String, LongAdder> byType = new ConcurrentHashMap<>();
+        private final Map<String, LongAdder> byUrl = new ConcurrentHashMap<>();
+
+        // Resolved on the scenario thread: the listener thread can't see config overrides
+        private final boolean measureBytes;
+
+        private Stats(boolean measureBytes) {
+            this.measureBytes = measureBytes;
+        }
+
+        void add(String type, String url) {
+            byType.computeIfAbsent(type, k -> new LongAdder()).increment();
+            if (url != null && url.startsWith("http")) {
+                byUrl.computeIfAbsent(url, k -> new LongAdder()).increment();
+                if (measureBytes) {
+                    SIZES.computeIfAbsent(url, NetworkBlocker::contentLength);
+                }
+            }
+        }
+    }
+
+    // HEAD from the test JVM, off the scenario thread; -1 when the server doesn't say
+    private static CompletableFuture<Long> contentLength(String url) {
+        try {
+            HttpRequest head = HttpRequest.newBuilder(URI.create(url))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(5))
+                    .build();
+            return httpClient().sendAsync(head, HttpResponse.BodyHandlers.discarding())
+                    .thenApply(response -> response.headers().firstValueAsLong("Content-Length").orElse(-1))
+                    .exceptionally(e -> -1L);
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(-1L);
+        }
+    }
+
+    private static HttpClient httpClient() {
+        HttpClient current = http;
+        if (current == null) {
+            synchronized (NetworkBlocker.class) {
+                current = http;
+                if (current == null) {
+                    current = HttpClient.newBuilder()
+                            .followRedirects(HttpClient.Redirect.NORMAL)
+                            .connectTimeout(Duration.ofSeconds(5))
+                            .build();
+                    http = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    // Tag value wins over the config value, e.g. @blockTypes=Image,Font
+    private static List<String> setting(String key, String tagPrefix) {
+        String value = ConfigReader.getProperty(key);
+        for (String tag : ScenarioContext.getTags()) {
+            if (tag.startsWith(tagPrefix)) {
+                value = tag.substring(tagPrefix.length());
+            }
+        }
+        if (value == null || value.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(v -> !v.isEmpty())
+                .toList();
+    }
+}
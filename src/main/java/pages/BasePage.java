@@ -3,13 +3,24 @@ package pages;
 import com.aventstack.extentreports.Status;
 import factory.DriverFactory;
 import org.openqa.selenium.By;
+import org.openqa.selenium.ElementClickInterceptedException;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
 import reports.ExtentTestManager;
+import utils.ActionabilityEngine;
+import utils.ConfigReader;
+import utils.DomScripts;
 import utils.WaitHelper;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * 🔹 BasePage — parent for all page objects.
  * Centralizes driver & WaitHelper initialization, and provides
@@ -20,12 +31,18 @@ public abstract class BasePage {
     protected WebDriver driver;
     protected WaitHelper wait;
     protected Actions actions;
+    // Non-null when action.engine=script (in-browser actionability checks)
+    protected ActionabilityEngine actionability;
 
     // ✅ Default constructor fetches driver from DriverFactory
     public BasePage() {
         this.driver = DriverFactory.getDriver();
-        this.wait = new WaitHelper(this.driver);
+        this.wait = new WaitHelper(this.driver, getClass());
         this.actions = new Actions(this.driver);
+        if ("script".equalsIgnoreCase(ConfigReader.getProperty("action.engine", "webdriver"))) {
+            this.actionability = new ActionabilityEngine(
+                    this.driver, ConfigReader.getInt("explicitWait") * 1000L);
+        }
     }
 
     /* ---------- Navigation ---------- */
@@ -40,7 +57,18 @@ public abstract class BasePage {
 
     protected void click(By locator) {
         try {
-            wait.waitForClickable(locator).click();
+            if (useActionability(locator)) {
+                ActionabilityEngine.Result target =
+                        wait.waitForActionable("click", locator, () -> actionability.prepareClick(locator));
+                if (target.obscuredBy() != null) {
+                    // Skip the doomed native click and go straight to the JS fallback
+                    throw new ElementClickInterceptedException(
+                            "Element " + locator + " is obscured by " + target.obscuredBy());
+                }
+                target.element().click();
+            } else {
+                wait.waitForClickable(locator).click();
+            }
             ExtentTestManager.logStatus(
                     Status.INFO,
                     "Clicked element using normal click: " + locator
@@ -63,8 +91,14 @@ public abstract class BasePage {
     }
 
     protected void sendKeys(By locator, String text) {
-        WebElement el = wait.waitForVisibility(locator);
-        el.clear();
+        WebElement el;
+        if (useActionability(locator)) {
+            // Already cleared and focused by the actionability script
+            el = wait.waitForActionable("type", locator, () -> actionability.prepareType(locator)).element();
+        } else {
+            el = wait.waitForVisibility(locator);
+            el.clear();
+        }
         el.sendKeys(text);
         ExtentTestManager.logStatus(Status.INFO, "Entered text into: " + locator);
     }
@@ -83,6 +117,81 @@ public abstract class BasePage {
         return wait.waitForVisibility(locator).isEnabled();
     }
 
+    /* ---------- Batched form helpers ---------- */
+
+    /**
+     * Fills several fields in ONE script call (after one visibility wait on the
+     * first field) instead of a wait + clear + sendKeys per field.
+     * Dispatches input/change events so React-controlled inputs update.
+     * Null values are skipped. Not for autocomplete widgets that need keystrokes.
+     */
+    protected void fillFields(Map<By, String> values) {
+
+        Map<By, String> toFill = new LinkedHashMap<>();
+        values.forEach((locator, value) -> {
+            if (value != null) toFill.put(locator, value);
+        });
+        if (toFill.isEmpty()) return;
+
+        List<List<String>> fields = new ArrayList<>();
+        for (Map.Entry<By, String> entry : toFill.entrySet()) {
+            String[] w3c = DomScripts.toW3c(entry.getKey());
+            if (w3c == null) {
+                // Locator can't be evaluated in the page — fall back to per-field typing
+                toFill.forEach(this::sendKeys);
+                return;
+            }
+            fields.add(List.of(w3c[0], w3c[1], entry.getValue()));
+        }
+
+        wait.waitForVisibility(toFill.keySet().iterator().next());
+
+        List<?> missing = (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(DomScripts.FILL_FIELDS, fields);
+
+        if (missing != null && !missing.isEmpty()) {
+            List<By> locators = new ArrayList<>(toFill.keySet());
+            List<By> notFound = missing.stream()
+                    .map(i -> locators.get(((Number) i).intValue()))
+                    .toList();
+            throw new NoSuchElementException("Batched fill could not find: " + notFound);
+        }
+
+        ExtentTestManager.logStatus(Status.INFO, "Filled " + toFill.size() + " fields in one call: " + toFill.keySet());
+    }
+
+    /**
+     * Reads the value (form controls) or text (other elements) of several
+     * fields in ONE script call. Missing fields map to null.
+     */
+    protected Map<By, String> readFieldValues(Collection<By> locators) {
+
+        Map<By, String> result = new LinkedHashMap<>();
+        if (locators.isEmpty()) return result;
+
+        List<List<String>> fields = new ArrayList<>();
+        for (By locator : locators) {
+            String[] w3c = DomScripts.toW3c(locator);
+            if (w3c == null) {
+                locators.forEach(l -> result.put(l, wait.waitForVisibility(l).getAttribute("value")));
+                return result;
+            }
+            fields.add(List.of(w3c[0], w3c[1]));
+        }
+
+        wait.waitForVisibility(locators.iterator().next());
+
+        List<?> values = (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(DomScripts.READ_FIELDS, fields);
+
+        int i = 0;
+        for (By locator : locators) {
+            Object value = values.get(i++);
+            result.put(locator, value == null ? null : value.toString());
+        }
+        return result;
+    }
+
     /* ---------- Actions ---------- */
 
     protected void doubleClick(By locator) {
@@ -109,9 +218,13 @@ public abstract class BasePage {
     }
 
     protected void jsClick(By locator) {
-        scrollIntoView(locator);
-        ((JavascriptExecutor) driver)
-                .executeScript("arguments[0].click();", wait.waitForVisibility(locator));
+        if (useActionability(locator)) {
+            wait.waitForActionable("jsclick", locator, () -> actionability.jsClick(locator));
+        } else {
+            WebElement el = wait.waitForVisibility(locator);
+            ((JavascriptExecutor) driver).executeScript(
+                    "arguments[0].scrollIntoView({block:'center'}); arguments[0].click();", el);
+        }
         ExtentTestManager.logStatus(Status.INFO, "Clicked using JS: " + locator);
     }
 
@@ -125,6 +238,10 @@ public abstract class BasePage {
         return wait.waitForElementToBeStable(locator, 1000, 200, 10);
     }
 
+    private boolean useActionability(By locator) {
+        return actionability != null && ActionabilityEngine.supports(locator);
+    }
+
     private static String getCleanMessage(Throwable t) {
         if (t == null) return "Unknown Error";
         String msg = t.getMessage();
@@ -45,11 +45,13 @@ public class StudentFormPage extends BasePage {
     /* ---------- Actions ---------- */
 
     public void fillTextFields(Map<String, String> data) {
-        sendKeys(firstName, data.get("firstName"));
-        sendKeys(lastName, data.get("lastName"));
-        sendKeys(email, data.get("email"));
-        sendKeys(mobileNumber, data.get("mobileNumber"));
-        sendKeys(currentAddress, data.get("currentAddress"));
+        Map<By, String> fields = new LinkedHashMap<>();
+        fields.put(firstName, data.get("firstName"));
+        fields.put(lastName, data.get("lastName"));
+        fields.put(email, data.get("email"));
+        fields.put(mobileNumber, data.get("mobileNumber"));
+        fields.put(currentAddress, data.get("currentAddress"));
+        fillFields(fields);
 
         selectSubjects(data.get("subjects"));
         selectStateAndCity(data.get("state"), data.get("city"));
@@ -99,12 +101,15 @@ public class StudentFormPage extends BasePage {
     /* ---------- Getters (Actual UI Values) ---------- */
 
     public Map<String, String> getTextFieldValues() {
+        Map<By, String> values = readFieldValues(
+                List.of(firstName, lastName, email, mobileNumber, currentAddress));
+
         Map<String, String> actual = new HashMap<>();
-        actual.put("firstName", getValue(firstName));
-        actual.put("lastName", getValue(lastName));
-        actual.put("email", getValue(email));
-        actual.put("mobileNumber", getValue(mobileNumber));
-        actual.put("currentAddress", getValue(currentAddress));
+        actual.put("firstName", values.get(firstName));
+        actual.put("lastName", values.get(lastName));
+        actual.put("email", values.get(email));
+        actual.put("mobileNumber", values.get(mobileNumber));
+        actual.put("currentAddress", values.get(currentAddress));
         return actual;
     }
 
@@ -128,8 +133,4 @@ public class StudentFormPage extends BasePage {
     public String getCity() {
         return wait.waitForVisibility(cityValue).getText();
     }
-
-    private String getValue(By locator) {
-        return wait.waitForVisibility(locator).getAttribute("value");
-    }
 }
\ No newline at end of file
@@ -0,0 +1,71 @@
+package reports;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import utils.DataSource;
+
+import java.io.ByteArrayInputStream;
+
+/**
+ * Allure sink. The attachment is registered on the current Allure step on the
+ * scenario thread (that binding is thread-local); the attachment file itself
+ * is written on the sink's worker thread.
+ *
+ * Log lines and retries are not forwarded — the Allure Cucumber plugin
+ * already records steps, statuses and retries.
+ *
+ * The plugin derives historyId / testCaseId from uri:line, which every row of a
+ * {@code @dataSource} scenario shares; those are scoped to the row on start.
+ */
+final class AllureSink implements ReportSink {
+
+    @Override
+    public String name() {
+        return "allure";
+    }
+
+    @Override
+    public Runnable accept(ReportEvent event) {
+
+        if (event instanceof ReportEvent.ScenarioStarted) {
+            DataSource.current().ifPresent(AllureSink::scopeToRow);
+            return null;
+        }
+
+        if (!(event instanceof ReportEvent.Attachment attachment) || attachment.bytes() == null) {
+            return null;
+        }
+
+        AllureLifecycle lifecycle = Allure.getLifecycle();
+        String source = lifecycle.prepareAttachment(
+                attachment.name(),
+                attachment.mimeType(),
+                extension(attachment.mimeType())
+        );
+
+        return () -> lifecycle.writeAttachment(source, new ByteArrayInputStream(attachment.bytes()));
+    }
+
+    // Runs on the scenario thread: the current Allure test case is thread-bound
+    private static void scopeToRow(DataSource.Row row) {
+        Allure.parameter("dataRow", row.toString());
+        Allure.getLifecycle().updateTestCase(result -> {
+            if (result.getHistoryId() != null) {
+                result.setHistoryId(result.getHistoryId() + "#" + row.key());
+            }
+            if (result.getTestCaseId() != null) {
+                result.setTestCaseId(result.getTestCaseId() + "#" + row.key());
+            }
+        });
+    }
+
+    private static String extension(String mimeType) {
+        return switch (mimeType) {
+            case "image/png" -> ".png";
+            case "image/jpeg" -> ".jpg";
+            case "application/json" -> ".json";
+            case "text/plain" -> ".txt";
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,43 @@
+package reports;
+
+import com.aventstack.extentreports.Status;
+import io.cucumber.java.Scenario;
+
+/**
+ * Cucumber sink. Screenshots are embedded (the Cucumber report is often
+ * downloaded on its own as a CI artifact, where a link to the build machine's
+ * reports/screenshots would break); FAIL / WARNING log lines are added with
+ * scenario.log().
+ */
+final class CucumberSink implements ReportSink {
+
+    private static final ThreadLocal<Scenario> SCENARIO = new ThreadLocal<>();
+
+    @Override
+    public String name() {
+        return "cucumber";
+    }
+
+    @Override
+    public Runnable accept(ReportEvent event) {
+
+        switch (event) {
+            case ReportEvent.ScenarioStarted started -> SCENARIO.set(started.scenario());
+            case ReportEvent.ScenarioFinished finished -> SCENARIO.remove();
+            case ReportEvent.Attachment attachment -> {
+                Scenario scenario = SCENARIO.get();
+                if (scenario != null && attachment.bytes() != null) {
+                    scenario.attach(attachment.bytes(), attachment.mimeType(), attachment.name());
+                }
+            }
+            case ReportEvent.LogEntry entry -> {
+                Scenario scenario = SCENARIO.get();
+                if (scenario != null && (entry.status() == Status.FAIL || entry.status() == Status.WARNING)) {
+                    scenario.log(entry.status() + ": " + entry.message());
+                }
+            }
+            default -> {}
+        }
+        return null;
+    }
+}
@@ -0,0 +1,44 @@
+package reports;
+
+import com.aventstack.extentreports.Status;
+
+/**
+ * Extent sink. Runs inline: {@link ExtentTestManager} keeps its node per
+ * scenario thread and already batches log lines per thread, so there is no
+ * deferred work here.
+ */
+final class ExtentSink implements ReportSink {
+
+    @Override
+    public String name() {
+        return "extent";
+    }
+
+    @Override
+    public Runnable accept(ReportEvent event) {
+
+        switch (event) {
+            case ReportEvent.ScenarioStarted started -> ExtentTestManager.startScenario();
+            case ReportEvent.StepFinished step -> {
+                if (step.failed()) {
+                    ExtentTestManager.appendLog(Status.FAIL, "Step failed");
+                } else {
+                    ExtentTestManager.appendLog(Status.PASS, "Step passed");
+                }
+            }
+            case ReportEvent.LogEntry entry -> ExtentTestManager.appendLog(entry.status(), entry.message());
+            case ReportEvent.Attachment attachment -> {
+                if (attachment.stored() != null) {
+                    ExtentTestManager.logScreenshot(attachment.stored(), attachment.name());
+                }
+            }
+            case ReportEvent.Retry retry -> {
+                ExtentTestManager.appendLog(Status.WARNING,
+                        "🔁 Retrying scenario (attempt " + retry.attempt() + "/" + retry.maxRetry() + ")");
+                ExtentTestManager.markRetry();
+            }
+            case ReportEvent.ScenarioFinished finished -> ExtentTestManager.finishScenario(finished.failed());
+        }
+        return null;
+    }
+}
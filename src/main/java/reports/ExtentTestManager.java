@@ -1,25 +1,37 @@
 package reports;
 
 import com.aventstack.extentreports.*;
+import com.aventstack.extentreports.model.Test;
 import factory.DriverFactory;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.json.JSONObject;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import utils.ConfigReader;
+import utils.JfrEvents;
 import utils.ScenarioContext;
 
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
-import java.text.SimpleDateFormat;
-import java.util.Date;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
 
 public final class ExtentTestManager {
 
+    private static final Logger logger = LogManager.getLogger(ExtentTestManager.class);
+
     private static final ExtentReports extent =
             ExtentManager.createInstance();
 
@@ -43,10 +55,59 @@ public final class ExtentTestManager {
        Execution counters
        ========================= */
 
-    private static int passCount = 0;
-    private static int failCount = 0;
-    private static int skipCount = 0;
-    private static int warningCount = 0;
+    // Striped counters — no lock on the hot logging path
+    private static final LongAdder passCount = new LongAdder();
+    private static final LongAdder failCount = new LongAdder();
+    private static final LongAdder skipCount = new LongAdder();
+    private static final LongAdder warningCount = new LongAdder();
+
+    /* =========================
+       Per-thread log buffer
+       ========================= */
+
+    // Log lines are buffered per thread and handed to Extent in batches
+    private static final ThreadLocal<List<PendingLog>> BUFFER =
+            ThreadLocal.withInitial(ArrayList::new);
+
+    // Extent's model is not documented as thread-safe; taken once per batch, not per line
+    private static final ReentrantLock EXTENT_LOCK = new ReentrantLock();
+
+    private static final int BUFFER_LIMIT =
+            Math.max(1, ConfigReader.getInt("report.log.buffer", 64));
+
+    /* =========================
+       Streaming report mode
+       ========================= */
+
+    // report.mode=streaming: periodic flushes + collapsed passing executions
+    private static final boolean STREAMING =
+            "streaming".equalsIgnoreCase(ConfigReader.getProperty("report.mode", "full"));
+
+    private static final int FLUSH_EVERY =
+            Math.max(1, ConfigReader.getInt("report.flushEvery", 100));
+
+    private static final AtomicInteger FINISHED = new AtomicInteger();
+
+    // Execution keys (pickle id + data row) whose next execution is a retry (set by RetryAnalyzer)
+    private static final Set<String> RETRY_PENDING = ConcurrentHashMap.newKeySet();
+
+    // Key of the execution on this thread; outlives ScenarioContext.clear() for markRetry
+    private static final ThreadLocal<String> EXECUTION_KEY = new ThreadLocal<>();
+
+    // True while the current execution is a retry — its full log is kept
+    private static final ThreadLocal<Boolean> RETRY_EXECUTION =
+            ThreadLocal.withInitial(() -> false);
+
+    // Passed executions to drop from the model after the next flush
+    private static final Queue<ExtentTest> RELEASABLE = new ConcurrentLinkedQueue<>();
+
+    // Per scenario: one node counting its released executions (guarded by EXTENT_LOCK)
+    private static final Map<String, ExtentTest> RELEASED_NODES = new HashMap<>();
+    private static final Map<String, Integer> RELEASED_COUNT = new HashMap<>();
+
+    // Cleared the first time Extent's model refuses an in-place change (logged once)
+    private static volatile boolean collapseSupported = true;
+    private static volatile boolean releaseSupported = true;
 
     private ExtentTestManager() {}
 
@@ -59,16 +120,6 @@ public final class ExtentTestManager {
         String scenarioName = ScenarioContext.getScenarioName();
         String dataId = ScenarioContext.getDataIdentifier();
 
-        ExtentTest parent = PARENTS.computeIfAbsent(
-                scenarioName,
-                name -> {
-                    ExtentTest p = extent.createTest(name);
-                    p.assignAuthor(System.getProperty("user.name"));
-                    p.assignDevice(ConfigReader.getProperty("browser"));
-                    return p;
-                }
-        );
-
         String childName;
 
         if (dataId != null && !dataId.isBlank()) {
@@ -83,8 +134,34 @@ public final class ExtentTestManager {
             childName = "Execution " + count;
         }
 
-        ExtentTest child = parent.createNode(childName);
+        // Anything logged after the previous finishScenario belongs to that node
+        drain();
+
+        // Same lock as drain / flush: a streaming flush may be rendering the model right now
+        ExtentTest child;
+        EXTENT_LOCK.lock();
+        try {
+            ExtentTest parent = PARENTS.computeIfAbsent(
+                    scenarioName,
+                    name -> {
+                        ExtentTest p = extent.createTest(name);
+                        p.assignAuthor(System.getProperty("user.name"));
+                        p.assignDevice(ConfigReader.getProperty("browser"));
+                        return p;
+                    }
+            );
+            child = parent.createNode(childName);
+        } finally {
+            EXTENT_LOCK.unlock();
+        }
         CHILD.set(child);
+
+        // Keyed by pickle id + row, so parallel data rows of one scenario never tag each other
+        String executionKey = ScenarioContext.getExecutionKey() != null
+                ? ScenarioContext.getExecutionKey()
+                : scenarioName;
+        EXECUTION_KEY.set(executionKey);
+        RETRY_EXECUTION.set(RETRY_PENDING.remove(executionKey));
     }
 
     public static void updateChildName(String newName) {
@@ -94,11 +171,14 @@ public final class ExtentTestManager {
             return;
         }
 
+        EXTENT_LOCK.lock();
         try {
             // Extent allows renaming by creating a node reference
             current.getModel().setName(newName);
         } catch (Exception ignored) {
             // Safe no-op
+        } finally {
+            EXTENT_LOCK.unlock();
         }
     }
 
@@ -110,19 +190,53 @@ public final class ExtentTestManager {
        Logging
        ========================= */
 
-    public static synchronized void logStatus(Status status, String message) {
+    /**
+     * Publishes a log line to every enabled report sink.
+     */
+    public static void logStatus(Status status, String message) {
+        ReportEventBus.publish(new ReportEvent.LogEntry(status, message));
+    }
 
-        getTest().log(status, message);
+    // Extent side of logStatus (called by ExtentSink on the scenario thread)
+    static void appendLog(Status status, String message) {
 
-        switch (status) {
-            case PASS -> passCount++;
-            case FAIL -> failCount++;
-            case SKIP -> skipCount++;
-            case WARNING -> warningCount++;
-            default -> {}
+        ExtentTest test = getTest();
+        if (test == null) {
+            return;
+        }
+
+        List<PendingLog> buffer = BUFFER.get();
+        buffer.add(new PendingLog(test, status, message));
+
+        // Failures are written through right away so they survive a crash
+        if (status == Status.FAIL || buffer.size() >= BUFFER_LIMIT) {
+            drain();
         }
     }
 
+    /**
+     * Hands this thread's buffered log lines to Extent.
+     */
+    static void drain() {
+
+        List<PendingLog> buffer = BUFFER.get();
+        if (buffer.isEmpty()) {
+            return;
+        }
+
+        EXTENT_LOCK.lock();
+        try {
+            for (PendingLog entry : buffer) {
+                entry.test().log(entry.status(), entry.message());
+            }
+        } finally {
+            EXTENT_LOCK.unlock();
+        }
+        buffer.clear();
+    }
+
+    private record PendingLog(ExtentTest test, Status status, String message) {}
+
     /* =========================
        Screenshot
        ========================= */
@@ -137,66 +251,196 @@ public final class ExtentTestManager {
         }
 
         if (!(driver instanceof TakesScreenshot ts)) {
-            getTest().log(Status.WARNING,
+            logStatus(Status.WARNING,
                     "Driver does not support screenshots");
-            warningCount++;
             return;
         }
 
+        long start = System.currentTimeMillis();
+        JfrEvents.ScreenshotEvent event = JfrEvents.beginScreenshot(screenshotName);
+        int size = 0;
         try {
             byte[] bytes = ts.getScreenshotAs(OutputType.BYTES);
-            String base64 =
-                    java.util.Base64.getEncoder().encodeToString(bytes);
+            size = bytes.length;
+            attachScreenshot(bytes, screenshotName);
+        } catch (Exception e) {
+            logStatus(Status.WARNING,
+                    "Screenshot failed: " + e.getMessage());
+        } finally {
+            JfrEvents.endScreenshot(event, size);
+            ScenarioMetrics.addScreenshotMillis(System.currentTimeMillis() - start);
+        }
+    }
 
-            String timestamp =
-                    new SimpleDateFormat("yyyyMMdd_HHmmss")
-                            .format(new Date());
+    /**
+     * Publishes an already captured PNG to every report sink. The image is
+     * stored once per unique content in {@link ScreenshotStore}; only hashing
+     * happens on the scenario thread.
+     *
+     * @return where the image is stored, or null if nothing was attached
+     */
+    public static ScreenshotStore.Stored attachScreenshot(byte[] bytes, String screenshotName) {
+
+        if (bytes == null) {
+            return null;
+        }
+        return ReportEventBus.screenshot(bytes, screenshotName);
+    }
 
-            Path dir = Path.of(
-                    System.getProperty("user.dir"),
-                    "reports",
-                    "screenshots"
-            );
-            Files.createDirectories(dir);
+    // Thumbnail linking to the full image, referenced by relative path instead of inlined Base64
+    static void logScreenshot(ScreenshotStore.Stored stored, String screenshotName) {
+        appendLog(
+                Status.INFO,
+                "📸 " + screenshotName + ":<br><a href='" + stored.imageHref()
+                        + "' target='_blank'><img src='" + stored.thumbnailHref()
+                        + "' width='700'/></a>"
+        );
+    }
 
-            Path file = dir.resolve(
-                    screenshotName + "_" + timestamp + ".png"
-            );
-            Files.write(file, bytes);
+    /* =========================
+       Scenario end (child level)
+       ========================= */
 
-            getTest().log(
-                    Status.INFO,
-                    "📸 Screenshot:<br><img src='data:image/png;base64,"
-                            + base64 + "' width='700'/>"
-            );
+    public static void finishScenario(boolean failed) {
 
-        } catch (Exception e) {
-            getTest().log(
-                    Status.WARNING,
-                    "Screenshot failed: " + e.getMessage()
-            );
-            warningCount++;
+        drain();
+
+        if (STREAMING) {
+            if (!failed && !RETRY_EXECUTION.get() && getTest() != null) {
+                collapse(getTest());
+                RELEASABLE.add(getTest());
+            }
+            if (FINISHED.incrementAndGet() % FLUSH_EVERY == 0) {
+                flushReport();
+            }
         }
     }
 
-    /* =========================
-       Scenario end (child level)
-       ========================= */
+    /**
+     * Marks the scenario that just finished on this thread as about to be
+     * retried, so streaming mode keeps the full log of the retry attempt.
+     */
+    public static void markRetry() {
 
-    public static synchronized void finishScenario(boolean failed) {
+        String executionKey = EXECUTION_KEY.get();
+        if (executionKey == null) {
+            return;
+        }
+        RETRY_PENDING.add(executionKey);
+    }
 
-        if (failed) {
-            failCount++;
-        } else {
-            passCount++;
+    // Drops the step log of a passing execution, keeping the node and its status
+    private static void collapse(ExtentTest test) {
+
+        if (!collapseSupported) {
+            return;
+        }
+
+        EXTENT_LOCK.lock();
+        try {
+            List<?> logs = test.getModel().getLogs();
+            int count = logs.size();
+            logs.clear();
+            test.log(Status.PASS, "✅ Passed — " + count + " log entries collapsed (report.mode=streaming)");
+        } catch (UnsupportedOperationException e) {
+            collapseSupported = false;
+            logger.warn("report.mode=streaming: this Extent version does not allow clearing a node's log; "
+                    + "passing executions keep their full log until they are released after a flush.");
+        } finally {
+            EXTENT_LOCK.unlock();
         }
     }
 
+    private static void flushReport() {
+        EXTENT_LOCK.lock();
+        try {
+            extent.flush();
+            if (STREAMING) {
+                release();
+            }
+        } finally {
+            EXTENT_LOCK.unlock();
+        }
+    }
+
+    /**
+     * Drops passed executions that are already on disk from the model. Each
+     * scenario keeps one node counting them, so later flushes render summary data
+     * only. Called with EXTENT_LOCK held.
+     */
+    private static void release() {
+
+        ExtentTest child;
+        while (releaseSupported && (child = RELEASABLE.poll()) != null) {
+
+            Test model = child.getModel();
+            Test parentModel = model.getParent();
+            if (parentModel == null) {
+                continue;
+            }
+
+            try {
+                if (!parentModel.getChildren().remove(model)) {
+                    continue;
+                }
+            } catch (UnsupportedOperationException e) {
+                releaseSupported = false;
+                logger.warn("report.mode=streaming: this Extent version does not allow removing nodes; "
+                        + "passed executions stay in memory until the end of the run.");
+                break;
+            }
+
+            String scenarioName = parentModel.getName();
+            int released = RELEASED_COUNT.merge(scenarioName, 1, Integer::sum);
+            ExtentTest summary = RELEASED_NODES.computeIfAbsent(scenarioName, name -> {
+                ExtentTest node = PARENTS.get(name).createNode(name);
+                node.log(Status.PASS, "✅ Passing executions released from memory after being written (report.mode=streaming)");
+                return node;
+            });
+            summary.getModel().setName(released + " passed execution(s)");
+        }
+        RELEASABLE.clear();
+    }
+
     /* =========================
        Summary + Flush
        ========================= */
 
-    public static synchronized void addSummary() {
+    /**
+     * Counts an event for summary.json. Called by {@link ReportEventBus} for every
+     * event, whichever sinks are enabled.
+     */
+    static void count(ReportEvent event) {
+
+        switch (event) {
+            case ReportEvent.StepFinished step -> (step.failed() ? failCount : passCount).increment();
+            case ReportEvent.LogEntry entry -> {
+                switch (entry.status()) {
+                    case PASS -> passCount.increment();
+                    case FAIL -> failCount.increment();
+                    case SKIP -> skipCount.increment();
+                    case WARNING -> warningCount.increment();
+                    default -> {}
+                }
+            }
+            case ReportEvent.Retry retry -> warningCount.increment();
+            case ReportEvent.ScenarioFinished finished -> (finished.failed() ? failCount : passCount).increment();
+            default -> {}
+        }
+    }
+
+    /**
+     * Writes summary.json and the final report flush. Called once by
+     * {@link ReportEventBus#close()} at the end of the run.
+     */
+    public static void addSummary() {
+
+        drain();
+        ScreenshotPipeline.flush();
+        writeSummary();
+    }
+
+    private static void writeSummary() {
 
         try {
             Path reportsDir =
@@ -204,10 +448,10 @@ public final class ExtentTestManager {
             Files.createDirectories(reportsDir);
 
             JSONObject summary = new JSONObject(Map.of(
-                    "passed", passCount,
-                    "failed", failCount,
-                    "skipped", skipCount,
-                    "warnings", warningCount
+                    "passed", passCount.sum(),
+                    "failed", failCount.sum(),
+                    "skipped", skipCount.sum(),
+                    "warnings", warningCount.sum()
             ));
 
             Files.writeString(
@@ -224,7 +468,8 @@ public final class ExtentTestManager {
         }
 
         EXECUTION_COUNTER.clear();
-        extent.flush();
+        RETRY_PENDING.clear();
+        flushReport();
 
     }
 }
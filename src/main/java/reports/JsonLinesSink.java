@@ -0,0 +1,117 @@
+package reports;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import utils.ConfigReader;
+import utils.ScenarioContext;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * JSON-lines sink: one line per event in report.jsonl.path
+ * (default reports/events.jsonl). Serialization and I/O run on the sink's
+ * worker thread; only timestamp, thread and scenario are captured inline.
+ */
+final class JsonLinesSink implements ReportSink {
+
+    private static final Logger logger = LogManager.getLogger(JsonLinesSink.class);
+
+    // Only touched from the sink's single worker thread
+    private BufferedWriter writer;
+    private boolean failed;
+
+    @Override
+    public String name() {
+        return "jsonl";
+    }
+
+    @Override
+    public Runnable accept(ReportEvent event) {
+
+        long timestamp = System.currentTimeMillis();
+        String thread = Thread.currentThread().getName();
+        String scenario = ScenarioContext.getScenarioName();
+
+        return () -> write(toJson(event, timestamp, thread, scenario));
+    }
+
+    @Override
+    public void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close event log: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    private static JSONObject toJson(ReportEvent event, long timestamp, String thread, String scenario) {
+
+        JSONObject json = new JSONObject()
+                .put("ts", timestamp)
+                .put("thread", thread)
+                .put("event", event.getClass().getSimpleName());
+        if (scenario != null) {
+            json.put("scenario", scenario);
+        }
+
+        switch (event) {
+            case ReportEvent.ScenarioStarted started -> json
+                    .put("name", started.name())
+                    .put("tags", started.tags());
+            case ReportEvent.ScenarioFinished finished -> json
+                    .put("name", finished.name())
+                    .put("failed", finished.failed());
+            case ReportEvent.StepFinished step -> json.put("failed", step.failed());
+            case ReportEvent.LogEntry entry -> json
+                    .put("status", entry.status().toString())
+                    .put("message", entry.message());
+            case ReportEvent.Attachment attachment -> {
+                json.put("name", attachment.name()).put("mimeType", attachment.mimeType());
+                if (attachment.bytes() != null) {
+                    json.put("bytes", attachment.bytes().length);
+                }
+                if (attachment.stored() != null) {
+                    json.put("path", attachment.stored().imageHref()).put("sha256", attachment.stored().hash());
+                }
+            }
+            case ReportEvent.Retry retry -> json
+                    .put("attempt", retry.attempt())
+                    .put("maxRetry", retry.maxRetry());
+        }
+        return json;
+    }
+
+    private void write(JSONObject json) {
+
+        if (failed) {
+            return;
+        }
+
+        try {
+            if (writer == null) {
+                Path file = Path.of(ConfigReader.getProperty("report.jsonl.path", "reports/events.jsonl"));
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            writer.write(json.toString());
+            writer.newLine();
+        } catch (IOException e) {
+            // Don't retry every event against a broken file
+            failed = true;
+            logger.warn("Event log disabled: {}", e.getMessage());
+        }
+    }
+}
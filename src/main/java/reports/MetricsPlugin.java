@@ -0,0 +1,294 @@
+package reports;
+
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.TestStepStarted;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.json.JSONObject;
+import utils.ConfigReader;
+import utils.DataSource;
+import utils.JfrEvents;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * MetricsPlugin - Cucumber plugin writing run metrics as JSON lines to
+ * reports/metrics.jsonl (metrics.path) while the run is in progress:
+ *
+ * - {"type":"step"}     every step and hook with its duration
+ * - {"type":"scenario"} duration, status, attempt (retries), data row, driver
+ *                       startup, total wait time, screenshot time and blocked
+ *                       requests / bytes saved
+ * - {"type":"feature"}  at the end: scenario count and p50/p95/p99 per feature
+ *                       (plus blocked-request totals)
+ *
+ * The per-feature aggregates are also written to reports/metrics-summary.json.
+ * Registered in TestRunner; metrics.enabled=false turns it off.
+ */
+public class MetricsPlugin implements ConcurrentEventListener {
+
+    private static final Logger logger = LogManager.getLogger(MetricsPlugin.class);
+
+    // Executions per scenario location — a second execution is a retry
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+
+    // Scenario durations per feature, for the percentiles
+    private final Map<String, List<Long>> durations = new ConcurrentHashMap<>();
+
+    private final Map<String, Integer> retries = new ConcurrentHashMap<>();
+
+    // Per feature: {requests, bytes} failed by network blocking
+    private final Map<String, long[]> blocked = new ConcurrentHashMap<>();
+
+    // Resolved on first write (config is loaded lazily)
+    private Boolean enabled;
+    private BufferedWriter writer;
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestCaseStarted.class, this::onTestCaseStarted);
+        publisher.registerHandlerFor(TestStepStarted.class, this::onTestStepStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::onTestStepFinished);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::onTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::onTestRunFinished);
+    }
+
+    /* =========================
+       Event handlers
+       ========================= */
+
+    private void onTestCaseStarted(TestCaseStarted event) {
+        // Drop anything recorded between scenarios (e.g. retry screenshots)
+        ScenarioMetrics.snapshotAndReset();
+    }
+
+    // Step JFR events live here: hooks can't see the step text
+    private void onTestStepStarted(TestStepStarted event) {
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            JfrEvents.beginStep(event.getTestCase().getName(),
+                    step.getStep().getKeyword() + step.getStep().getText());
+        }
+    }
+
+    private void onTestStepFinished(TestStepFinished event) {
+
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            JfrEvents.endStep(event.getResult().getStatus().name());
+        }
+
+        JSONObject json = new JSONObject()
+                .put("type", "step")
+                .put("feature", feature(event.getTestCase()))
+                .put("scenario", event.getTestCase().getName())
+                .put("status", event.getResult().getStatus().name())
+                .put("durationMs", event.getResult().getDuration().toMillis());
+
+        if (event.getTestStep() instanceof PickleStepTestStep step) {
+            json.put("step", step.getStep().getKeyword() + step.getStep().getText())
+                    .put("line", step.getStep().getLine());
+        } else if (event.getTestStep() instanceof HookTestStep hook) {
+            json.put("hook", hook.getHookType().name())
+                    .put("location", hook.getCodeLocation());
+        }
+
+        write(json, false);
+    }
+
+    private void onTestCaseFinished(TestCaseFinished event) {
+
+        TestCase testCase = event.getTestCase();
+        String feature = feature(testCase);
+        long durationMs = event.getResult().getDuration().toMillis();
+
+        // Rows of a @dataSource scenario are separate executions, not retries
+        Optional<DataSource.Row> row = DataSource.current();
+        String location = testCase.getUri() + ":" + testCase.getLocation().getLine();
+        int attempt = attempts.merge(
+                row.map(r -> location + "#" + r.key()).orElse(location), 1, Integer::sum);
+
+        ScenarioMetrics.Counters counters = ScenarioMetrics.snapshotAndReset();
+
+        JSONObject json = new JSONObject()
+                .put("type", "scenario")
+                .put("feature", feature)
+                .put("scenario", testCase.getName())
+                .put("line", testCase.getLocation().getLine())
+                .put("tags", testCase.getTags())
+                .put("status", event.getResult().getStatus().name())
+                .put("attempt", attempt)
+                .put("thread", Thread.currentThread().getName())
+                .put("durationMs", durationMs)
+                .put("waitMs", counters.waitMillis)
+                .put("waits", counters.waits)
+                .put("screenshotMs", counters.screenshotMillis)
+                .put("screenshots", counters.screenshots);
+
+        row.ifPresent(r -> json.put("dataRow", r.toString()));
+
+        // Only counted while the session is decorated (driver.trace or a command budget)
+        if (counters.commands > 0) {
+            json.put("commands", counters.commands);
+        }
+
+        if (counters.driverBlockedMillis >= 0) {
+            json.put("driverStartupMs", counters.driverBlockedMillis)
+                    .put("driverLaunchMs", counters.driverLaunchMillis);
+        }
+
+        if (counters.blockedRequests > 0) {
+            json.put("blockedRequests", counters.blockedRequests)
+                    .put("blockedBytes", counters.blockedBytes);
+            blocked.computeIfAbsent(feature, f -> new long[2]);
+            synchronized (blocked) {
+                long[] totals = blocked.get(feature);
+                totals[0] += counters.blockedRequests;
+                totals[1] += counters.blockedBytes;
+            }
+        }
+
+        durations.computeIfAbsent(feature, f -> Collections.synchronizedList(new ArrayList<>()))
+                .add(durationMs);
+        if (attempt > 1) {
+            retries.merge(feature, 1, Integer::sum);
+        }
+
+        // Flushed per scenario so the file is usable while the run is still going
+        write(json, true);
+    }
+
+    private void onTestRunFinished(TestRunFinished event) {
+
+        JSONObject summary = new JSONObject();
+
+        new TreeMap<>(durations).forEach((feature, list) -> {
+            List<Long> sorted;
+            synchronized (list) {
+                sorted = new ArrayList<>(list);
+            }
+            Collections.sort(sorted);
+
+            long total = sorted.stream().mapToLong(Long::longValue).sum();
+
+            JSONObject stats = new JSONObject()
+                    .put("scenarios", sorted.size())
+                    .put("retries", retries.getOrDefault(feature, 0))
+                    .put("totalMs", total)
+                    .put("p50Ms", percentile(sorted, 50))
+                    .put("p95Ms", percentile(sorted, 95))
+                    .put("p99Ms", percentile(sorted, 99))
+                    .put("maxMs", sorted.get(sorted.size() - 1));
+
+            long[] blockedTotals = blocked.get(feature);
+            if (blockedTotals != null) {
+                synchronized (blocked) {
+                    stats.put("blockedRequests", blockedTotals[0])
+                            .put("blockedBytes", blockedTotals[1]);
+                }
+            }
+
+            summary.put(feature, stats);
+            write(new JSONObject(stats.toMap()).put("type", "feature").put("feature", feature), false);
+        });
+
+        close();
+
+        if (!enabled()) {
+            return;
+        }
+
+        try {
+            Path file = Path.of(System.getProperty("user.dir"), "reports", "metrics-summary.json");
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, summary.toString(2), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            logger.warn("Unable to write metrics-summary.json: {}", e.getMessage());
+        }
+    }
+
+    /* =========================
+       Output
+       ========================= */
+
+    private synchronized void write(JSONObject json, boolean flush) {
+
+        if (!enabled()) {
+            return;
+        }
+
+        try {
+            if (writer == null) {
+                Path file = Path.of(ConfigReader.getProperty("metrics.path", "reports/metrics.jsonl"));
+                Path parent = file.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            }
+            writer.write(json.toString());
+            writer.newLine();
+            if (flush) {
+                writer.flush();
+            }
+        } catch (IOException e) {
+            logger.warn("Metrics disabled: {}", e.getMessage());
+            enabled = false;
+        }
+    }
+
+    private synchronized void close() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                logger.warn("Unable to close metrics file: {}", e.getMessage());
+            }
+            writer = null;
+        }
+    }
+
+    private synchronized boolean enabled() {
+        if (enabled == null) {
+            enabled = Boolean.parseBoolean(ConfigReader.getProperty("metrics.enabled", "true"));
+        }
+        return enabled;
+    }
+
+    /* =========================
+       Helpers
+       ========================= */
+
+    private static String feature(TestCase testCase) {
+        URI uri = testCase.getUri();
+        String path = uri.getSchemeSpecificPart();
+        int slash = path.lastIndexOf('/');
+        return slash >= 0 ? path.substring(slash + 1) : path;
+    }
+
+    // Nearest-rank percentile on a sorted list
+    private static long percentile(List<Long> sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.size());
+        return sorted.get(Math.max(0, rank - 1));
+    }
+}
@@ -0,0 +1,32 @@
+package reports;
+
+import com.aventstack.extentreports.Status;
+import io.cucumber.java.Scenario;
+
+import java.util.Collection;
+
+/**
+ * Events published on the {@link ReportEventBus}. Producers (hooks, page
+ * objects, waits, retry analyzer) publish once; every enabled sink consumes.
+ */
+public sealed interface ReportEvent {
+
+    /**
+     * @param scenario Cucumber handle (for sinks that attach to the Cucumber report); may be null
+     */
+    record ScenarioStarted(String name, Collection<String> tags, Scenario scenario) implements ReportEvent {}
+
+    record ScenarioFinished(String name, boolean failed) implements ReportEvent {}
+
+    record StepFinished(String scenarioName, boolean failed) implements ReportEvent {}
+
+    record LogEntry(Status status, String message) implements ReportEvent {}
+
+    /**
+     * @param stored where the image lives in the {@link ScreenshotStore}; null for non-image attachments
+     */
+    record Attachment(String name, String mimeType, byte[] bytes, ScreenshotStore.Stored stored)
+            implements ReportEvent {}
+
+    record Retry(String scenarioName, int attempt, int maxRetry) implements ReportEvent {}
+}
@@ -0,0 +1,224 @@
+package reports;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.ConfigReader;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportEventBus - single entry point for everything that ends up in a report.
+ *
+ * Producers publish an event once; each sink enabled in report.sinks
+ * (extent, allure, cucumber, jsonl — default extent,allure,cucumber) consumes it.
+ * Sinks doing deferred work get their own single worker thread so the work
+ * stays in publish order; a full queue blocks the publisher (back-pressure).
+ *
+ * Screenshots are captured and stored once ({@link #screenshot(byte[], String)})
+ * and every sink references the same stored image.
+ */
+public final class ReportEventBus {
+
+    private static final Logger logger = LogManager.getLogger(ReportEventBus.class);
+
+    private static final int QUEUE_SIZE = 1024;
+
+    private static volatile List<Registered> sinks;
+
+    private ReportEventBus() {}
+
+    /* =========================
+       Publishing
+       ========================= */
+
+    public static void publish(ReportEvent event) {
+
+        // Summary counters don't depend on which sinks are enabled
+        ExtentTestManager.count(event);
+
+        for (Registered sink : sinks()) {
+            Runnable work;
+            try {
+                work = sink.sink().accept(event);
+            } catch (Exception e) {
+                logger.warn("Report sink '{}' failed on {}: {}", sink.sink().name(),
+                        event.getClass().getSimpleName(), e.getMessage());
+                continue;
+            }
+
+            if (work != null) {
+                sink.worker().execute(() -> {
+                    try {
+                        work.run();
+                    } catch (Exception e) {
+                        logger.warn("Report sink '{}' failed: {}", sink.sink().name(), e.getMessage());
+                    }
+                });
+            }
+        }
+    }
+
+    /**
+     * Stores a PNG once (content-addressed) and publishes it to every sink.
+     *
+     * @return where the image is stored
+     */
+    public static ScreenshotStore.Stored screenshot(byte[] png, String name) {
+
+        ScreenshotStore.Stored stored = ScreenshotStore.reference(png);
+
+        if (stored.isNew()) {
+            ScreenshotPipeline.submit(() -> {
+                try {
+                    ScreenshotStore.write(stored, png);
+                } catch (Exception e) {
+                    logger.warn("Unable to store screenshot {}: {}", name, e.getMessage());
+                }
+            });
+        }
+
+        publish(new ReportEvent.Attachment(name, "image/png", png, stored));
+        return stored;
+    }
+
+    /**
+     * Waits for all deferred sink work (and pending screenshots), closes every
+     * sink, then writes summary.json and the final report flush whichever sinks
+     * are enabled. Called once at the end of the run.
+     */
+    public static synchronized void close() {
+
+        ScreenshotPipeline.flush();
+
+        for (Registered sink : sinks()) {
+            sink.worker().shutdown();
+            try {
+                if (!sink.worker().awaitTermination(60, TimeUnit.SECONDS)) {
+                    logger.warn("Report sink '{}' still busy after 60 s", sink.sink().name());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            try {
+                sink.sink().close();
+            } catch (Exception e) {
+                logger.warn("Report sink '{}' failed to close: {}", sink.sink().name(), e.getMessage());
+            }
+        }
+
+        sinks = Collections.emptyList();
+
+        ExtentTestManager.addSummary();
+    }
+
+    /**
+     * Blocks until every sink's queued work published so far has run.
+     */
+    public static void flush() {
+
+        List<CompletableFuture<Void>> barriers = new ArrayList<>();
+        for (Registered sink : sinks()) {
+            if (!sink.worker().isShutdown()) {
+                barriers.add(CompletableFuture.runAsync(() -> {}, sink.worker()));
+            }
+        }
+
+        try {
+            CompletableFuture.allOf(barriers.toArray(CompletableFuture[]::new))
+                    .get(60, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Report sinks not drained: {}", e.getMessage());
+        }
+    }
+
+    public static boolean isEnabled(String sinkName) {
+        return sinks().stream().anyMatch(s -> s.sink().name().equalsIgnoreCase(sinkName));
+    }
+
+    /* =========================
+       Sink registry
+       ========================= */
+
+    private static List<Registered> sinks() {
+
+        List<Registered> current = sinks;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (ReportEventBus.class) {
+            if (sinks == null) {
+                Map<String, ReportSink> available = new LinkedHashMap<>();
+                available.put("extent", new ExtentSink());
+                available.put("allure", new AllureSink());
+                available.put("cucumber", new CucumberSink());
+                available.put("jsonl", new JsonLinesSink());
+
+                String configured = ConfigReader.getProperty("report.sinks", "extent,allure,cucumber");
+
+                List<Registered> enabled = new ArrayList<>();
+                Arrays.stream(configured.split(","))
+                        .map(String::trim)
+                        .map(String::toLowerCase)
+                        .filter(n -> !n.isEmpty())
+                        .distinct()
+                        .forEach(n -> {
+                            ReportSink sink = available.get(n);
+                            if (sink == null) {
+                                logger.warn("Unknown report sink '{}' ignored", n);
+                            } else {
+                                enabled.add(new Registered(sink, worker(n)));
+                            }
+                        });
+
+                logger.info("Report sinks: {}", enabled.stream().map(r -> r.sink().name()).toList());
+                sinks = List.copyOf(enabled);
+            }
+            return sinks;
+        }
+    }
+
+    private static ThreadPoolExecutor worker(String name) {
+
+        // Blocking put instead of CallerRunsPolicy: running on the caller would break ordering
+        RejectedExecutionHandler blockWhenFull = (task, executor) -> {
+            if (executor.isShutdown()) {
+                return;
+            }
+            try {
+                executor.getQueue().put(task);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                1, 1,
+                0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(QUEUE_SIZE),
+                r -> {
+                    Thread t = new Thread(r, "report-" + name);
+                    t.setDaemon(true);
+                    return t;
+                },
+                blockWhenFull
+        );
+        executor.prestartCoreThread();
+        return executor;
+    }
+
+    private record Registered(ReportSink sink, ThreadPoolExecutor worker) {}
+}
@@ -0,0 +1,24 @@
+package reports;
+
+/**
+ * A consumer of {@link ReportEvent}s (Extent, Allure, Cucumber, JSON lines).
+ *
+ * {@link #accept(ReportEvent)} runs on the publishing (scenario) thread and
+ * must stay cheap — it only does what is bound to that thread (e.g. the
+ * current Allure step or Cucumber scenario). Anything expensive is returned
+ * as a task and runs, in publish order, on the sink's own worker thread.
+ */
+public interface ReportSink {
+
+    String name();
+
+    /**
+     * @return deferred work for the sink's worker thread, or null if done
+     */
+    Runnable accept(ReportEvent event);
+
+    /**
+     * End of run, after all deferred work has completed.
+     */
+    default void close() {}
+}
@@ -0,0 +1,80 @@
+package reports;
+
+import utils.ConfigReader;
+import utils.ScenarioContext;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ScenarioBudget - per-scenario WebDriver round-trip budgets.
+ *
+ * Declared per scenario with tags, or run-wide in config (0 = no budget):
+ *
+ *   @maxCommands=120     budget.maxCommands   WebDriver / WebElement calls
+ *   @maxWaitMs=5000      budget.maxWaitMs     total time spent in WaitHelper
+ *
+ * budget.mode=report logs a warning; budget.mode=fail fails the scenario.
+ * Command budgets need the session to be decorated, which DriverFactory does
+ * automatically while a command budget is active.
+ */
+public final class ScenarioBudget {
+
+    public static final String MAX_COMMANDS = "maxCommands";
+    public static final String MAX_WAIT_MS = "maxWaitMs";
+
+    private ScenarioBudget() {}
+
+    /**
+     * True if the current scenario has a command budget (tag or config).
+     */
+    public static boolean hasCommandBudget() {
+        return limit(MAX_COMMANDS) > 0;
+    }
+
+    public static boolean failOnViolation() {
+        return "fail".equalsIgnoreCase(ConfigReader.getProperty("budget.mode", "report"));
+    }
+
+    /**
+     * Budget violations of the scenario running on this thread (empty if within budget).
+     */
+    public static List<String> violations() {
+
+        List<String> violations = new ArrayList<>();
+
+        long maxCommands = limit(MAX_COMMANDS);
+        long commands = ScenarioMetrics.commands();
+        if (maxCommands > 0 && commands > maxCommands) {
+            violations.add("WebDriver commands " + commands + " > budget " + maxCommands);
+        }
+
+        long maxWait = limit(MAX_WAIT_MS);
+        long waited = ScenarioMetrics.waitMillis();
+        if (maxWait > 0 && waited > maxWait) {
+            violations.add("Wait time " + waited + " ms > budget " + maxWait + " ms");
+        }
+
+        return violations;
+    }
+
+    // @name=value tag first, then budget.<name> from config; 0 = unlimited
+    private static long limit(String name) {
+
+        String prefix = "@" + name + "=";
+        for (String tag : ScenarioContext.getTags()) {
+            if (tag.startsWith(prefix)) {
+                return parse(tag.substring(prefix.length()), tag);
+            }
+        }
+        return parse(ConfigReader.getProperty("budget." + name, "0"), "budget." + name);
+    }
+
+    private static long parse(String value, String source) {
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid budget '" + value + "' in " + source, e);
+        }
+    }
+}
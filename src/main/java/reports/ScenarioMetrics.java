@@ -0,0 +1,80 @@
+package reports;
+
+/**
+ * ScenarioMetrics - per-thread accumulators for the scenario currently
+ * running on this thread (wait time, screenshot time, driver startup,
+ * WebDriver commands, blocked requests). Read and reset by {@link MetricsPlugin} when the test
+ * case finishes; read by {@link ScenarioBudget} in the @After hook.
+ */
+public final class ScenarioMetrics {
+
+    private static final ThreadLocal<Counters> CURRENT = ThreadLocal.withInitial(Counters::new);
+
+    private ScenarioMetrics() {}
+
+    public static void addWaitMillis(long millis) {
+        Counters c = CURRENT.get();
+        c.waitMillis += millis;
+        c.waits++;
+    }
+
+    public static void addCommand() {
+        CURRENT.get().commands++;
+    }
+
+    public static long commands() {
+        return CURRENT.get().commands;
+    }
+
+    public static long waitMillis() {
+        return CURRENT.get().waitMillis;
+    }
+
+    public static void reset() {
+        CURRENT.remove();
+    }
+
+    public static void addScreenshotMillis(long millis) {
+        Counters c = CURRENT.get();
+        c.screenshotMillis += millis;
+        c.screenshots++;
+    }
+
+    /**
+     * @param blockedMillis time the scenario actually waited for its driver
+     * @param launchMillis  full launch time (larger when pre-warm/pool hid part of it)
+     */
+    public static void setDriverStartup(long blockedMillis, long launchMillis) {
+        Counters c = CURRENT.get();
+        c.driverBlockedMillis = blockedMillis;
+        c.driverLaunchMillis = launchMillis;
+    }
+
+    /**
+     * @param requests requests failed by network blocking
+     * @param bytes    estimated bytes those requests would have downloaded
+     */
+    public static void setNetworkBlocked(long requests, long bytes) {
+        Counters c = CURRENT.get();
+        c.blockedRequests = requests;
+        c.blockedBytes = bytes;
+    }
+
+    static Counters snapshotAndReset() {
+        Counters c = CURRENT.get();
+        CURRENT.remove();
+        return c;
+    }
+
+    static final class Counters {
+        long waitMillis;
+        int waits;
+        long screenshotMillis;
+        int screenshots;
+        long driverBlockedMillis = -1;
+        long driverLaunchMillis = -1;
+        long commands;
+        long blockedRequests;
+        long blockedBytes;
+    }
+}
@@ -0,0 +1,116 @@
+package reports;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.ConfigReader;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * ScreenshotPipeline - runs screenshot post-processing (encoding and writing to
+ * {@link ScreenshotStore}) off the scenario thread when screenshot.async=true.
+ *
+ * - Bounded queue (screenshot.queue) with CallerRunsPolicy: when the workers
+ *   fall behind, the scenario thread does the work itself (back-pressure)
+ *   instead of piling up screenshots in memory
+ * - screenshot.async=false (default) runs everything inline
+ * - {@link #flush()} waits for pending work; called before the report is flushed
+ */
+final class ScreenshotPipeline {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotPipeline.class);
+
+    private static final Set<CompletableFuture<Void>> PENDING = ConcurrentHashMap.newKeySet();
+
+    private static volatile ThreadPoolExecutor executor;
+
+    private ScreenshotPipeline() {}
+
+    static void submit(Runnable task) {
+
+        ThreadPoolExecutor pool = executor();
+        if (pool == null) {
+            task.run();
+            return;
+        }
+
+        CompletableFuture<Void> future = CompletableFuture.runAsync(task, pool);
+        PENDING.add(future);
+        future.whenComplete((ignored, error) -> {
+            PENDING.remove(future);
+            if (error != null) {
+                logger.warn("Screenshot processing failed: {}", error.getMessage());
+            }
+        });
+    }
+
+    /**
+     * Blocks until every queued screenshot has been written
+     * (screenshot.flushTimeoutSec, default 60).
+     */
+    static void flush() {
+
+        if (PENDING.isEmpty()) {
+            return;
+        }
+
+        int timeoutSec = ConfigReader.getInt("screenshot.flushTimeoutSec", 60);
+        int pending = PENDING.size();
+
+        try {
+            CompletableFuture.allOf(PENDING.toArray(CompletableFuture[]::new))
+                    .get(timeoutSec, TimeUnit.SECONDS);
+            logger.info("Flushed {} pending screenshot(s)", pending);
+        } catch (TimeoutException e) {
+            logger.warn("{} screenshot(s) still pending after {} s", PENDING.size(), timeoutSec);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            // Individual failures are already logged by submit()
+        }
+    }
+
+    private static ThreadPoolExecutor executor() {
+
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("screenshot.async", "false"))) {
+            return null;
+        }
+
+        ThreadPoolExecutor pool = executor;
+        if (pool != null) {
+            return pool;
+        }
+
+        synchronized (ScreenshotPipeline.class) {
+            if (executor == null) {
+                int threads = Math.max(1, ConfigReader.getInt("screenshot.threads", 2));
+                int queue = Math.max(1, ConfigReader.getInt("screenshot.queue", 16));
+
+                AtomicInteger counter = new AtomicInteger();
+                ThreadFactory factory = r -> {
+                    Thread t = new Thread(r, "screenshot-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                };
+
+                executor = new ThreadPoolExecutor(
+                        threads, threads,
+                        30, TimeUnit.SECONDS,
+                        new ArrayBlockingQueue<>(queue),
+                        factory,
+                        new ThreadPoolExecutor.CallerRunsPolicy()
+                );
+                executor.allowCoreThreadTimeOut(true);
+            }
+            return executor;
+        }
+    }
+}
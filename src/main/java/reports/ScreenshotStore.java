@@ -0,0 +1,222 @@
+package reports;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.ConfigReader;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ScreenshotStore - content-addressed screenshot storage under reports/screenshots.
+ *
+ * - File name = SHA-256 of the PNG bytes, so identical images (same failure
+ *   page captured for several steps / retries) are stored once
+ * - screenshot.format=jpg re-encodes to JPEG (screenshot.quality, default 0.75);
+ *   png keeps the original bytes
+ * - screenshot.thumbnailWidth > 0 also writes a small JPEG preview
+ *
+ * {@link #reference(byte[])} only hashes (cheap) and returns the final paths;
+ * {@link #write(Stored, byte[])} does the encoding and I/O and is meant to run
+ * on the {@link ScreenshotPipeline}.
+ */
+public final class ScreenshotStore {
+
+    private static final Logger logger = LogManager.getLogger(ScreenshotStore.class);
+
+    private static final Path DIR = Path.of(System.getProperty("user.dir"), "reports", "screenshots");
+
+    // Hashes already written (or being written) during this run
+    private static final Map<String, Boolean> WRITTEN = new ConcurrentHashMap<>();
+
+    private ScreenshotStore() {}
+
+    /**
+     * Paths the screenshot will be stored at. {@link Stored#isNew()} is true
+     * only for the first caller with these bytes — that caller must write it.
+     */
+    public static Stored reference(byte[] png) {
+
+        String hash = sha256(png);
+        String format = format();
+        int thumbWidth = ConfigReader.getInt("screenshot.thumbnailWidth", 320);
+
+        Path image = DIR.resolve(hash + "." + format);
+        Path thumbnail = thumbWidth > 0 ? DIR.resolve(hash + "_thumb.jpg") : null;
+
+        boolean isNew = WRITTEN.putIfAbsent(hash, Boolean.TRUE) == null
+                && !Files.exists(image);
+
+        return new Stored(hash, image, thumbnail, isNew);
+    }
+
+    /**
+     * Encodes and writes the image (and thumbnail). Files are written to a temp
+     * name and moved into place, so a reader never sees a partial image.
+     */
+    static void write(Stored stored, byte[] png) throws IOException {
+        try {
+            encodeAndWrite(stored, png);
+        } catch (IOException | RuntimeException e) {
+            // Let a later capture of the same image try again
+            WRITTEN.remove(stored.hash());
+            throw e;
+        }
+    }
+
+    private static void encodeAndWrite(Stored stored, byte[] png) throws IOException {
+
+        Files.createDirectories(DIR);
+
+        BufferedImage decoded = null;
+
+        if (stored.image().toString().endsWith(".jpg")) {
+            decoded = decode(png);
+            writeAtomically(stored.image(), jpeg(decoded, quality()));
+        } else {
+            writeAtomically(stored.image(), png);
+        }
+
+        if (stored.thumbnail() != null) {
+            if (decoded == null) {
+                decoded = decode(png);
+            }
+            int width = ConfigReader.getInt("screenshot.thumbnailWidth", 320);
+            writeAtomically(stored.thumbnail(), jpeg(scale(decoded, width), 0.6f));
+        }
+
+        logger.debug("Stored screenshot {} ({} bytes PNG in)", stored.image().getFileName(), png.length);
+    }
+
+    /* =========================
+       Encoding
+       ========================= */
+
+    private static BufferedImage decode(byte[] png) throws IOException {
+        BufferedImage image = ImageIO.read(new ByteArrayInputStream(png));
+        if (image == null) {
+            throw new IOException("Unreadable screenshot bytes");
+        }
+        return image;
+    }
+
+    private static byte[] jpeg(BufferedImage source, float quality) throws IOException {
+
+        // JPEG has no alpha channel — flatten onto RGB first
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        g.drawImage(source, 0, 0, Color.WHITE, null);
+        g.dispose();
+
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+
+    private static BufferedImage scale(BufferedImage source, int width) {
+
+        if (source.getWidth() <= width) {
+            return source;
+        }
+
+        int height = Math.max(1, source.getHeight() * width / source.getWidth());
+        BufferedImage scaled = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        g.drawImage(source, 0, 0, width, height, null);
+        g.dispose();
+        return scaled;
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Path tmp = Files.createTempFile(DIR, ".shot", ".tmp");
+        try (OutputStream os = Files.newOutputStream(tmp)) {
+            os.write(bytes);
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /* =========================
+       Config
+       ========================= */
+
+    private static String format() {
+        String format = ConfigReader.getProperty("screenshot.format", "png").trim().toLowerCase();
+        return format.equals("jpg") || format.equals("jpeg") ? "jpg" : "png";
+    }
+
+    private static float quality() {
+        try {
+            float q = Float.parseFloat(ConfigReader.getProperty("screenshot.quality", "0.75"));
+            return Math.max(0.1f, Math.min(1.0f, q));
+        } catch (NumberFormatException e) {
+            return 0.75f;
+        }
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * @param hash      SHA-256 of the original PNG
+     * @param image     full-size image path
+     * @param thumbnail preview path, or null when thumbnails are disabled
+     * @param isNew     true if this caller must write the files
+     */
+    public record Stored(String hash, Path image, Path thumbnail, boolean isNew) {
+
+        /**
+         * Path of the image relative to the reports/ folder (where the Extent report lives).
+         */
+        public String imageHref() {
+            return "screenshots/" + image.getFileName();
+        }
+
+        public String thumbnailHref() {
+            return thumbnail == null ? imageHref() : "screenshots/" + thumbnail.getFileName();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.Map;
+
+/**
+ * ActionabilityEngine - single-round-trip actionability checks (action.engine=script).
+ *
+ * One executeAsyncScript call waits in the page until the element is present,
+ * visible, enabled, scrolled into the viewport and not covered by another
+ * element, then optionally acts on it:
+ *
+ * - prepareClick: returns the element for a native (trusted) click
+ * - prepareType:  also clears the value React-style and focuses the field
+ * - jsClick:      scroll + click in the same call
+ *
+ * The WebDriver path needs several HTTP calls per poll (findElement,
+ * isDisplayed, isEnabled) plus separate clear/scroll calls; on remote grids
+ * each of those costs 100-300 ms.
+ */
+public class ActionabilityEngine {
+
+    // How long to wait for an overlay (toast, animation, sticky ad) to go away
+    private static final long OBSCURED_GRACE_MS = 1000;
+
+    private static final String ACTIONABLE_SCRIPT = DomScripts.withHelpers("""
+            var using = arguments[0], value = arguments[1], action = arguments[2];
+            var timeout = arguments[3], obscuredGrace = arguments[4];
+            var done = arguments[arguments.length - 1];
+
+            var started = Date.now(), obscuredSince = null, reason = 'not found';
+
+            function inViewport(r) {
+              return r.top >= 0 && r.left >= 0
+                  && r.bottom <= (window.innerHeight || document.documentElement.clientHeight)
+                  && r.right <= (window.innerWidth || document.documentElement.clientWidth);
+            }
+
+            function describe(el) {
+              var d = el.tagName.toLowerCase();
+              if (el.id) d += '#' + el.id;
+              if (typeof el.className === 'string' && el.className.trim()) {
+                d += '.' + el.className.trim().split(/\\s+/).join('.');
+              }
+              return d;
+            }
+
+            function clearValue(el) {
+              if ('value' in el) {
+                // Same prototype choice as FILL_FIELDS; anything else gets a plain assignment
+                var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                    : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype
+                    : el instanceof HTMLInputElement ? HTMLInputElement.prototype
+                    : null;
+                var setter = proto && Object.getOwnPropertyDescriptor(proto, 'value');
+                if (setter && setter.set) {
+                  setter.set.call(el, '');
+                } else {
+                  el.value = '';
+                }
+                el.dispatchEvent(new Event('input', {bubbles: true}));
+                el.dispatchEvent(new Event('change', {bubbles: true}));
+              }
+              el.focus();
+            }
+
+            function attempt() {
+              var el;
+              try { el = __find(using, value); } catch (e) { reason = String(e); return null; }
+              if (!el) { reason = 'not found'; return null; }
+              if (!__visible(el)) { reason = 'not visible'; return null; }
+              if (el.disabled) { reason = 'disabled'; return null; }
+              if (action === 'type' && el.readOnly) { reason = 'read-only'; return null; }
+
+              var r = el.getBoundingClientRect();
+              if (!inViewport(r)) {
+                el.scrollIntoView({block: 'center', inline: 'center'});
+                r = el.getBoundingClientRect();
+              }
+
+              var hit = document.elementFromPoint(r.left + r.width / 2, r.top + r.height / 2);
+              if (hit && hit !== el && !el.contains(hit) && !hit.contains(el)) {
+                if (obscuredSince === null) obscuredSince = Date.now();
+                if (Date.now() - obscuredSince < obscuredGrace) { reason = 'obscured'; return null; }
+                if (action === 'jsclick') { el.click(); return {element: el}; }
+                if (action === 'type') clearValue(el);
+                return {element: el, obscuredBy: describe(hit)};
+              }
+
+              if (action === 'type') clearValue(el);
+              if (action === 'jsclick') el.click();
+              return {element: el};
+            }
+
+            (function loop() {
+              var result = attempt();
+              if (result) return done(result);
+              if (Date.now() - started >= timeout) return done({reason: reason});
+              setTimeout(loop, 50);
+            })();
+            """);
+
+    private final JavascriptExecutor js;
+    private final long timeoutMillis;
+
+    public ActionabilityEngine(WebDriver driver, long timeoutMillis) {
+        this.js = (JavascriptExecutor) driver;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public static boolean supports(By locator) {
+        return DomScripts.toW3c(locator) != null;
+    }
+
+    /**
+     * Element ready for a native click. {@link Result#obscuredBy()} is set if
+     * something still covers it after the grace period.
+     */
+    public Result prepareClick(By locator) {
+        return run(locator, "click");
+    }
+
+    /**
+     * Element ready for sendKeys: visible, enabled, editable, cleared and focused.
+     */
+    public Result prepareType(By locator) {
+        return run(locator, "type");
+    }
+
+    /**
+     * Scroll + JavaScript click in one call.
+     */
+    public Result jsClick(By locator) {
+        return run(locator, "jsclick");
+    }
+
+    @SuppressWarnings("unchecked")
+    private Result run(By locator, String action) {
+
+        String[] w3c = DomScripts.toW3c(locator);
+        if (w3c == null) {
+            throw new IllegalArgumentException("Locator not supported by actionability engine: " + locator);
+        }
+
+        Map<String, Object> result;
+        try {
+            result = (Map<String, Object>) js.executeAsyncScript(
+                    ACTIONABLE_SCRIPT, w3c[0], w3c[1], action, timeoutMillis, OBSCURED_GRACE_MS);
+        } catch (ScriptTimeoutException e) {
+            // Only the script timeout means "not actionable"; script errors (bad selector,
+            // detached frame) propagate as they are
+            throw new TimeoutException("Element not actionable: " + locator + " (" + e.getMessage() + ")", e);
+        }
+
+        if (result == null || result.get("element") == null) {
+            Object reason = result == null ? "unknown" : result.get("reason");
+            throw new TimeoutException(
+                    "Element not actionable after " + timeoutMillis + " ms: " + locator + " (" + reason + ")");
+        }
+
+        return new Result((WebElement) result.get("element"), (String) result.get("obscuredBy"));
+    }
+
+    /**
+     * @param element    the actionable element
+     * @param obscuredBy description of the covering element, or null
+     */
+    public record Result(WebElement element, String obscuredBy) {}
+}
@@ -0,0 +1,103 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.NotFoundException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+
+import java.util.function.Function;
+
+/**
+ * AdaptivePollingWait - WebDriverWait replacement (wait.engine=adaptive) whose
+ * polling interval is tuned per wait key from {@link WaitProfile}.
+ *
+ * - Unknown keys: fast 50 ms polls with exponential backoff
+ * - Known keys: polls at ~1/4 of the typical time-to-satisfy until that time
+ *   has passed, then exponential backoff (x1.5, capped at 1 s)
+ * - Logs an early warning once a wait runs 3x slower than usual
+ */
+public class AdaptivePollingWait {
+
+    private static final Logger logger = LogManager.getLogger(AdaptivePollingWait.class);
+
+    private static final long DEFAULT_INTERVAL_MS = 50;
+    private static final long MIN_INTERVAL_MS = 20;
+    private static final long MAX_INITIAL_INTERVAL_MS = 250;
+    private static final long MAX_INTERVAL_MS = 1000;
+    private static final double BACKOFF = 1.5;
+
+    private final WebDriver driver;
+    private final long timeoutMillis;
+
+    public AdaptivePollingWait(WebDriver driver, long timeoutMillis) {
+        this.driver = driver;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Same contract as WebDriverWait.until: returns the first non-null,
+     * non-false value; NotFound / StaleElement exceptions are ignored.
+     */
+    public <T> T until(String key, Function<WebDriver, T> condition) {
+
+        WaitProfile.Stats stats = WaitProfile.get(key);
+        long typical = stats == null ? -1 : stats.typicalMillis();
+
+        long interval = typical < 0
+                ? DEFAULT_INTERVAL_MS
+                : clamp(typical / 4, MIN_INTERVAL_MS, MAX_INITIAL_INTERVAL_MS);
+        long warnAfter = typical < 0 ? -1 : Math.max(typical * 3, 1000);
+        boolean warned = false;
+
+        long start = System.currentTimeMillis();
+        RuntimeException lastError = null;
+
+        while (true) {
+            try {
+                T value = condition.apply(driver);
+                if (value != null && !Boolean.FALSE.equals(value)) {
+                    WaitProfile.record(key, System.currentTimeMillis() - start);
+                    return value;
+                }
+            } catch (NotFoundException | StaleElementReferenceException e) {
+                lastError = e;
+            }
+
+            long elapsed = System.currentTimeMillis() - start;
+
+            if (elapsed >= timeoutMillis) {
+                // Timeouts count as slow samples so the next run polls less eagerly
+                WaitProfile.record(key, elapsed);
+                throw new TimeoutException(
+                        "Expected condition failed: " + key + " (tried for " + timeoutMillis
+                                + " ms with adaptive polling)", lastError);
+            }
+
+            if (!warned && warnAfter > 0 && elapsed > warnAfter) {
+                logger.warn("Wait for {} is slower than usual: {} ms so far (typical {} ms)", key, elapsed, typical);
+                warned = true;
+            }
+
+            sleep(Math.min(interval, timeoutMillis - elapsed));
+
+            if (elapsed >= typical) {
+                interval = Math.min((long) (interval * BACKOFF), MAX_INTERVAL_MS);
+            }
+        }
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(Math.max(1, millis));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TimeoutException("Interrupted while waiting", e);
+        }
+    }
+}
@@ -2,112 +2,271 @@ package utils;
 
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ConfigReader - loads environment-specific configuration using the following precedence:
  *
+ * 0. Per-thread override       ({@link #overrideForCurrentThread})
  * 1. Java System Property      (-Dkey=value)
  * 2. Environment Variable      (API_KEY, HEADLESS, PAGE_LOAD_TIMEOUT)
  * 3. config-<env>.properties   (file-based defaults)
  *
  * Environment is selected using:  -Denv=dev|qa|prod
  * Default environment = "qa"
+ *
+ * System properties, environment and file are captured once into an immutable
+ * snapshot; each key is resolved once (misses included) and typed values are
+ * parsed once, so lookups on the hot path (page objects, waits, hooks) are a
+ * map read. {@link #reload()} takes a new snapshot.
  */
 public class ConfigReader {
 
-    private static volatile Properties prop;
+    private static volatile Snapshot snapshot;
+
+    private static final ThreadLocal<Map<String, String>> OVERRIDES = new ThreadLocal<>();
 
     /**
      * Loads config-<env>.properties file based on -Denv system property.
      * This method is idempotent: it loads the file only once.
      */
     public static synchronized void loadConfig() {
-        if (prop != null) {
+        if (snapshot != null) {
             return; // already loaded
         }
+        snapshot = Snapshot.take();
+    }
+
+    /**
+     * Re-reads system properties, environment and config file, and drops every cached value.
+     */
+    public static synchronized void reload() {
+        snapshot = Snapshot.take();
+    }
 
-        prop = new Properties();
+    private static Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            loadConfig();
+            current = snapshot;
+        }
+        return current;
+    }
 
-        // Determine environment name (default: qa)
-        String env = System.getProperty("env", "qa").trim();
-        String configPath = "src/main/resources/config-" + env + ".properties";
+    /* =========================
+       Per-thread overrides
+       ========================= */
 
-        try (FileInputStream fis = new FileInputStream(configPath)) {
-            prop.load(fis);
-        } catch (IOException e) {
-            throw new RuntimeException(
-                    "Failed to load config file: " + configPath + " (env=" + env + "): " + e.getMessage(), e);
+    /**
+     * Overrides a key for the calling thread only (e.g. one scenario), ahead of
+     * every other source. Cleared by {@link #clearThreadOverrides()}.
+     */
+    public static void overrideForCurrentThread(String key, String value) {
+        Map<String, String> overrides = OVERRIDES.get();
+        if (overrides == null) {
+            overrides = new HashMap<>();
+            OVERRIDES.set(overrides);
         }
+        overrides.put(key, value);
+    }
 
-        // Overlay well-known sensitive environment variables if present
-        overlayEnvSecret("apiKey");
-        overlayEnvSecret("dbPassword");
+    public static void clearThreadOverrides() {
+        OVERRIDES.remove();
     }
 
-    // Overlay a secret key from environment variables (API_KEY, DB_PASSWORD, etc.)
-    private static void overlayEnvSecret(String key) {
-        String val = lookupEnvVariants(key);
-        if (val != null) {
-            prop.setProperty(key, val);
-        }
+    private static String override(String key) {
+        Map<String, String> overrides = OVERRIDES.get();
+        return overrides == null ? null : overrides.get(key);
     }
 
+    /* =========================
+       Lookups
+       ========================= */
+
     /**
      * Get property value with precedence:
      *
+     * 0) per-thread override
      * 1) System.getProperty(key)
      * 2) Environment variables ("KEY", "KEY_NAME", camelCase → UPPER_SNAKE)
      * 3) config-<env>.properties file
      */
     public static String getProperty(String key) {
-        if (prop == null) {
-            loadConfig();
+        String override = override(key);
+        if (override != null) {
+            return override;
         }
+        return snapshot().resolved(key).orElse(null);
+    }
+
+    /**
+     * Same precedence as {@link #getProperty(String)}, falling back to
+     * {@code defaultValue} when the key is not configured anywhere.
+     */
+    public static String getProperty(String key, String defaultValue) {
+        String val = getProperty(key);
+        return (val == null || val.isBlank()) ? defaultValue : val.trim();
+    }
+
+    public static int getInt(String key) {
+        return intValue(key)
+                .orElseThrow(() -> new RuntimeException("Missing integer property for key: " + key));
+    }
 
-        // 1) Highest precedence: SYSTEM PROPERTY (-Dkey=value)
-        String sys = System.getProperty(key);
-        if (sys != null && !sys.isBlank()) {
-            return sys.trim();
+    public static int getInt(String key, int defaultValue) {
+        return intValue(key).orElse(defaultValue);
+    }
+
+    public static boolean getBoolean(String key) {
+        String override = override(key);
+        if (override != null) {
+            return Boolean.parseBoolean(override.trim());
         }
+        Snapshot s = snapshot();
+        return s.booleans.computeIfAbsent(key,
+                k -> s.resolved(k).map(v -> Boolean.parseBoolean(v.trim())).orElse(false));
+    }
 
-        // 2) Environment variables
-        String envVal = lookupEnvVariants(key);
-        if (envVal != null && !envVal.isBlank()) {
-            return envVal.trim();
+    // Empty when unset or blank; invalid values throw every time (never cached)
+    private static Optional<Integer> intValue(String key) {
+        String override = override(key);
+        if (override != null) {
+            return parseInt(key, override);
         }
+        Snapshot s = snapshot();
+        return s.ints.computeIfAbsent(key, k -> parseInt(k, s.resolved(k).orElse(null)));
+    }
 
-        // 3) config-<env>.properties
-        return prop.getProperty(key);
+    private static Optional<Integer> parseInt(String key, String val) {
+        if (val == null || val.isBlank()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(Integer.parseInt(val.trim()));
+        } catch (NumberFormatException e) {
+            throw new RuntimeException("Invalid integer for key '" + key + "' value: " + val, e);
+        }
     }
 
+    /* =========================
+       Snapshot
+       ========================= */
+
     /**
-     * Try common environment variable variants:
-     *  key            -> System.getenv("key")
-     *  KEY            -> System.getenv("KEY")
-     *  keyName        -> System.getenv("KEY_NAME")
-     *  key_name       -> System.getenv("KEY_NAME")
+     * Immutable copy of the three sources plus the caches built from them.
+     * Replaced as a whole on reload, so a reader never mixes old and new values.
      */
-    private static String lookupEnvVariants(String key) {
-        // exact key
-        String val = System.getenv(key);
-        if (val != null) return val;
+    private static final class Snapshot {
+
+        private final Map<String, String> system;
+        private final Map<String, String> env;
+        private final Properties file;
 
-        // uppercase
-        val = System.getenv(key.toUpperCase(Locale.ROOT));
-        if (val != null) return val;
+        // Resolved values per key; Optional.empty() caches a miss
+        private final Map<String, Optional<String>> resolved = new ConcurrentHashMap<>();
+        private final Map<String, Optional<Integer>> ints = new ConcurrentHashMap<>();
+        private final Map<String, Boolean> booleans = new ConcurrentHashMap<>();
 
-        // camelCase -> KEY_NAME
-        String upperSnake = toUpperSnake(key);
-        val = System.getenv(upperSnake);
-        if (val != null) return val;
+        private Snapshot(Map<String, String> system, Map<String, String> env, Properties file) {
+            this.system = system;
+            this.env = env;
+            this.file = file;
+        }
 
-        // lowercase fallback
-        val = System.getenv(key.toLowerCase(Locale.ROOT));
-        if (val != null) return val;
+        static Snapshot take() {
+
+            Properties sysProps = System.getProperties();
+            Map<String, String> system = new HashMap<>();
+            for (String name : sysProps.stringPropertyNames()) {
+                system.put(name, sysProps.getProperty(name));
+            }
 
-        return null;
+            Map<String, String> env = Map.copyOf(System.getenv());
+
+            Properties prop = new Properties();
+
+            // Determine environment name (default: qa)
+            String envName = system.getOrDefault("env", "qa").trim();
+            String configPath = "src/main/resources/config-" + envName + ".properties";
+
+            try (FileInputStream fis = new FileInputStream(configPath)) {
+                prop.load(fis);
+            } catch (IOException e) {
+                throw new RuntimeException(
+                        "Failed to load config file: " + configPath + " (env=" + envName + "): " + e.getMessage(), e);
+            }
+
+            Snapshot snapshot = new Snapshot(Map.copyOf(system), env, prop);
+
+            // Overlay well-known sensitive environment variables if present
+            snapshot.overlayEnvSecret("apiKey");
+            snapshot.overlayEnvSecret("dbPassword");
+
+            return snapshot;
+        }
+
+        // Overlay a secret key from environment variables (API_KEY, DB_PASSWORD, etc.)
+        private void overlayEnvSecret(String key) {
+            String val = lookupEnvVariants(key);
+            if (val != null) {
+                file.setProperty(key, val);
+            }
+        }
+
+        Optional<String> resolved(String key) {
+            return resolved.computeIfAbsent(key, k -> Optional.ofNullable(resolve(k)));
+        }
+
+        private String resolve(String key) {
+
+            // 1) Highest precedence: SYSTEM PROPERTY (-Dkey=value)
+            String sys = system.get(key);
+            if (sys != null && !sys.isBlank()) {
+                return sys.trim();
+            }
+
+            // 2) Environment variables
+            String envVal = lookupEnvVariants(key);
+            if (envVal != null && !envVal.isBlank()) {
+                return envVal.trim();
+            }
+
+            // 3) config-<env>.properties
+            return file.getProperty(key);
+        }
+
+        /**
+         * Try common environment variable variants:
+         *  key            -> env "key"
+         *  KEY            -> env "KEY"
+         *  keyName        -> env "KEY_NAME"
+         *  key_name       -> env "KEY_NAME"
+         */
+        private String lookupEnvVariants(String key) {
+            // exact key
+            String val = env.get(key);
+            if (val != null) return val;
+
+            // uppercase
+            val = env.get(key.toUpperCase(Locale.ROOT));
+            if (val != null) return val;
+
+            // camelCase -> KEY_NAME
+            String upperSnake = toUpperSnake(key);
+            val = env.get(upperSnake);
+            if (val != null) return val;
+
+            // lowercase fallback
+            val = env.get(key.toLowerCase(Locale.ROOT));
+            if (val != null) return val;
+
+            return null;
+        }
     }
 
     private static String toUpperSnake(String key) {
@@ -123,21 +282,4 @@ public class ConfigReader {
         }
         return sb.toString().replaceAll("__+", "_").replaceFirst("^_", "");
     }
-
-    public static int getInt(String key) {
-        String val = getProperty(key);
-        if (val == null) {
-            throw new RuntimeException("Missing integer property for key: " + key);
-        }
-        try {
-            return Integer.parseInt(val.trim());
-        } catch (NumberFormatException e) {
-            throw new RuntimeException("Invalid integer for key '" + key + "' value: " + val, e);
-        }
-    }
-
-    public static boolean getBoolean(String key) {
-        String val = getProperty(key);
-        return val != null && Boolean.parseBoolean(val.trim());
-    }
 }
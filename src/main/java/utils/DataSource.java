@@ -0,0 +1,137 @@
+package utils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+/**
+ * DataSource - a scenario tagged {@code @dataSource(sheet=StudentForm)} or
+ * {@code @dataSource(json=studentForm.json)} runs once per row / record.
+ *
+ * TestRunner expands such scenarios into one DataProvider entry per row and
+ * binds the row to the executing thread; steps read it with
+ * {@link TestDataLoader#loadCurrentRow()}.
+ *
+ * Sharded runs select part of the rows (positions are 1-based):
+ * - dataSource.rows=101-200   only that range
+ * - dataSource.shard=2/4      the 2nd of 4 equal contiguous slices (of the range, if set)
+ */
+public record DataSource(Kind kind, String name) {
+
+    public enum Kind { SHEET, JSON }
+
+    /**
+     * One expanded execution: the source and the row number / record key.
+     */
+    public record Row(DataSource source, String key) {
+
+        @Override
+        public String toString() {
+            return source.kind() == Kind.SHEET
+                    ? source.name() + " row " + key
+                    : source.name() + " " + key;
+        }
+    }
+
+    private static final Pattern TAG =
+            Pattern.compile("@dataSource\\((sheet|json)=([^)]+)\\)", Pattern.CASE_INSENSITIVE);
+
+    // dataSource.rows: "from-to", "from-" or "from"; dataSource.shard: "index/count"
+    private static final Pattern ROWS = Pattern.compile("(\\d+)\\s*(?:-\\s*(\\d*))?");
+    private static final Pattern SHARD = Pattern.compile("(\\d+)\\s*/\\s*(\\d+)");
+
+    private static final ThreadLocal<Row> CURRENT = new ThreadLocal<>();
+
+    /* =========================
+       Tag parsing / expansion
+       ========================= */
+
+    public static Optional<DataSource> fromTags(Collection<String> tags) {
+        for (String tag : tags) {
+            Matcher m = TAG.matcher(tag.trim());
+            if (m.matches()) {
+                Kind kind = "sheet".equalsIgnoreCase(m.group(1)) ? Kind.SHEET : Kind.JSON;
+                return Optional.of(new DataSource(kind, m.group(2).trim()));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Rows of this source selected by dataSource.rows / dataSource.shard.
+     */
+    public List<Row> rows() {
+
+        List<String> keys = TestDataLoader.keys(this);
+
+        int from = 1;
+        int to = keys.size();
+
+        String range = ConfigReader.getProperty("dataSource.rows", "").trim();
+        if (!range.isEmpty()) {
+            Matcher bounds = matcher(ROWS, "dataSource.rows", range, "from-to");
+            from = Math.max(from, parse(bounds.group(1), "dataSource.rows", range));
+            if (bounds.group(2) != null && !bounds.group(2).isEmpty()) {
+                to = Math.min(to, parse(bounds.group(2), "dataSource.rows", range));
+            }
+        }
+
+        String shard = ConfigReader.getProperty("dataSource.shard", "").trim();
+        if (!shard.isEmpty()) {
+            Matcher parts = matcher(SHARD, "dataSource.shard", shard, "index/count");
+            int index = parse(parts.group(1), "dataSource.shard", shard);
+            int count = parse(parts.group(2), "dataSource.shard", shard);
+            if (index < 1 || index > count) {
+                throw new IllegalArgumentException(
+                        "Invalid dataSource.shard '" + shard + "': index must be between 1 and count");
+            }
+            if (to >= from) {
+                int size = to - from + 1;
+                int start = from + (int) ((long) size * (index - 1) / count);
+                int end = from + (int) ((long) size * index / count) - 1;
+                from = start;
+                to = end;
+            }
+        }
+
+        return IntStream.rangeClosed(from, to)
+                .mapToObj(i -> new Row(this, keys.get(i - 1)))
+                .toList();
+    }
+
+    private static Matcher matcher(Pattern pattern, String key, String value, String format) {
+        Matcher m = pattern.matcher(value);
+        if (!m.matches()) {
+            throw new IllegalArgumentException(
+                    "Invalid " + key + " '" + value + "' (expected " + format + ")");
+        }
+        return m;
+    }
+
+    private static int parse(String number, String key, String value) {
+        try {
+            return Integer.parseInt(number);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + key + " '" + value + "'", e);
+        }
+    }
+
+    /* =========================
+       Thread binding
+       ========================= */
+
+    public static void bind(Row row) {
+        CURRENT.set(row);
+    }
+
+    public static Optional<Row> current() {
+        return Optional.ofNullable(CURRENT.get());
+    }
+
+    public static void unbind() {
+        CURRENT.remove();
+    }
+}
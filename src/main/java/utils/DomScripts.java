@@ -0,0 +1,118 @@
+package utils;
+
+import org.openqa.selenium.By;
+
+/**
+ * Shared in-browser JavaScript snippets for script-based waits and actions.
+ *
+ * Locators are passed to the browser as W3C (using, value) pairs, which is how
+ * Selenium itself sends By.id / By.name / By.className (as CSS selectors),
+ * By.cssSelector, By.xpath, By.tagName and the link-text locators.
+ */
+public final class DomScripts {
+
+    /**
+     * JS helpers available to every script built with {@link #withHelpers(String)}:
+     *   __find(using, value)  → first matching element or null
+     *   __visible(el)         → approximation of WebElement.isDisplayed()
+     *   __text(el)            → whitespace-normalized innerText (like getText())
+     */
+    static final String HELPERS = """
+            function __find(using, value) {
+              switch (using) {
+                case 'css selector':
+                  return document.querySelector(value);
+                case 'xpath':
+                  return document.evaluate(value, document, null,
+                      XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;
+                case 'tag name':
+                  return document.getElementsByTagName(value)[0] || null;
+                case 'link text':
+                case 'partial link text':
+                  var links = document.getElementsByTagName('a');
+                  for (var i = 0; i < links.length; i++) {
+                    var t = __text(links[i]);
+                    if (using === 'link text' ? t === value : t.indexOf(value) >= 0) return links[i];
+                  }
+                  return null;
+              }
+              throw new Error('Unsupported locator strategy: ' + using);
+            }
+            function __visible(el) {
+              if (!el || !el.isConnected) return false;
+              var s = window.getComputedStyle(el);
+              if (s.display === 'none' || s.visibility === 'hidden'
+                  || s.visibility === 'collapse' || parseFloat(s.opacity) === 0) return false;
+              var r = el.getBoundingClientRect();
+              return r.width > 0 && r.height > 0;
+            }
+            function __text(el) {
+              return (el.innerText || el.textContent || '').replace(/\\s+/g, ' ').trim();
+            }
+            """;
+
+    /**
+     * Batched form fill. arguments[0] = [[using, value, text], ...]
+     * Uses the native value setter + input/change events so React-controlled
+     * inputs pick up the change. Returns the indexes of fields not found.
+     */
+    public static final String FILL_FIELDS = withHelpers("""
+            var fields = arguments[0], missing = [];
+            for (var i = 0; i < fields.length; i++) {
+              var el = __find(fields[i][0], fields[i][1]);
+              if (!el) { missing.push(i); continue; }
+              var proto = el instanceof HTMLTextAreaElement ? HTMLTextAreaElement.prototype
+                  : el instanceof HTMLSelectElement ? HTMLSelectElement.prototype
+                  : HTMLInputElement.prototype;
+              var descriptor = Object.getOwnPropertyDescriptor(proto, 'value');
+              el.focus();
+              if (descriptor && descriptor.set) descriptor.set.call(el, fields[i][2]);
+              else el.value = fields[i][2];
+              el.dispatchEvent(new Event('input', {bubbles: true}));
+              el.dispatchEvent(new Event('change', {bubbles: true}));
+              el.blur();
+            }
+            return missing;
+            """);
+
+    /**
+     * Batched read. arguments[0] = [[using, value], ...]
+     * Returns the value property for form controls, visible text otherwise,
+     * and null for fields not found.
+     */
+    public static final String READ_FIELDS = withHelpers("""
+            var fields = arguments[0], values = [];
+            for (var i = 0; i < fields.length; i++) {
+              var el = __find(fields[i][0], fields[i][1]);
+              if (!el) { values.push(null); continue; }
+              values.push('value' in el && !(el instanceof HTMLButtonElement) ? String(el.value) : __text(el));
+            }
+            return values;
+            """);
+
+    private DomScripts() {}
+
+    static String withHelpers(String body) {
+        return HELPERS + body;
+    }
+
+    /**
+     * W3C (using, value) for a locator, or null when the locator cannot be
+     * evaluated in the page (e.g. ByChained, relative locators).
+     */
+    public static String[] toW3c(By locator) {
+        if (!(locator instanceof By.Remotable remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters params = remotable.getRemoteParameters();
+        String using = params.using();
+        if (!(params.value() instanceof String value)) {
+            return null;
+        }
+        return switch (using) {
+            case "css selector", "xpath", "tag name", "link text", "partial link text" ->
+                    new String[] {using, value};
+            default -> null;
+        };
+    }
+}
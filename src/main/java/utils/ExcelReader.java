@@ -1,33 +1,108 @@
 package utils;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
 import org.apache.poi.ss.usermodel.*;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
 
+import java.io.File;
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * ExcelReader - classpath Excel data with two access modes (excel.mode):
+ *
+ * - cached    (default) each resource + sheet is parsed once per JVM; headers are
+ *             indexed once and the workbook is closed. Row lookups are O(1).
+ * - streaming single-row lookups read the sheet XML with a SAX parser and stop at
+ *             the requested row, without building a workbook (large .xlsx sheets).
+ *
+ * Both modes return the same values: strings trimmed, numbers as whole numbers,
+ * booleans as true/false, formula / blank / error cells as "".
+ */
 public final class ExcelReader {
 
+    private static final Logger logger = LogManager.getLogger(ExcelReader.class);
+
+    // "resource#sheet" → parsed data rows
+    private static final Map<String, List<Map<String, String>>> CACHE = new ConcurrentHashMap<>();
+
     private ExcelReader() {}
 
+    /**
+     * All data rows of a sheet (header row excluded), in sheet order.
+     * The list and maps are shared between threads and read-only.
+     */
     public static List<Map<String, String>> getData(
             String resourcePath,
             String sheetName
     ) {
+        return CACHE.computeIfAbsent(key(resourcePath, sheetName),
+                k -> load(resourcePath, sheetName));
+    }
 
-        List<Map<String, String>> dataList = new ArrayList<>();
+    /**
+     * One data row (1-based, header row excluded).
+     *
+     * @throws IllegalArgumentException when the row does not exist
+     */
+    public static Map<String, String> getRow(
+            String resourcePath,
+            String sheetName,
+            int rowNumber
+    ) {
 
-        try (InputStream is =
-                     Thread.currentThread()
-                             .getContextClassLoader()
-                             .getResourceAsStream(resourcePath)) {
+        if (isStreaming() && !CACHE.containsKey(key(resourcePath, sheetName))) {
+            return streamRow(resourcePath, sheetName, rowNumber);
+        }
 
-            if (is == null) {
-                throw new RuntimeException(
-                        "Excel file not found on classpath: " + resourcePath
-                );
-            }
+        List<Map<String, String>> rows = getData(resourcePath, sheetName);
+
+        if (rowNumber <= 0 || rowNumber > rows.size()) {
+            throw invalidRow(rowNumber, rows.size());
+        }
+        return rows.get(rowNumber - 1);
+    }
+
+    private static boolean isStreaming() {
+        return "streaming".equalsIgnoreCase(ConfigReader.getProperty("excel.mode", "cached").trim());
+    }
+
+    private static String key(String resourcePath, String sheetName) {
+        return resourcePath + "#" + sheetName;
+    }
+
+    private static IllegalArgumentException invalidRow(int rowNumber, int available) {
+        return new IllegalArgumentException(
+                "Invalid Excel row number: " + rowNumber +
+                        " (Available rows: " + available + ")"
+        );
+    }
+
+    /* =========================
+       Cached (workbook) mode
+       ========================= */
+
+    private static List<Map<String, String>> load(String resourcePath, String sheetName) {
+
+        long start = System.nanoTime();
+
+        try (InputStream is = open(resourcePath);
+             Workbook workbook = WorkbookFactory.create(is)) {
 
-            Workbook workbook = WorkbookFactory.create(is);
             Sheet sheet = workbook.getSheet(sheetName);
 
             if (sheet == null) {
@@ -36,31 +111,62 @@ public final class ExcelReader {
                 );
             }
 
-            Row headerRow = sheet.getRow(0);
-            int colCount = headerRow.getLastCellNum();
+            List<Map<String, String>> rows = readSheet(sheet);
 
-            for (int i = 1; i <= sheet.getLastRowNum(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
+            logger.info("Excel sheet cached: {} [{}] — {} rows in {} ms",
+                    resourcePath, sheetName, rows.size(), (System.nanoTime() - start) / 1_000_000);
 
-                Map<String, String> rowData = new HashMap<>();
+            return List.copyOf(rows);
 
-                for (int j = 0; j < colCount; j++) {
-                    String key = headerRow.getCell(j)
-                            .getStringCellValue()
-                            .trim();
-                    String value = getCellValueAsString(row.getCell(j));
-                    rowData.put(key, value);
-                }
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read Excel data", e);
+        }
+    }
 
-                dataList.add(rowData);
+    /**
+     * Every sheet of a workbook file (used by the build-time {@link TestDataIndex}).
+     */
+    static Map<String, List<Map<String, String>>> readWorkbook(Path file) {
+
+        try (Workbook workbook = WorkbookFactory.create(file.toFile(), null, true)) {
+
+            Map<String, List<Map<String, String>>> sheets = new LinkedHashMap<>();
+            for (Sheet sheet : workbook) {
+                if (sheet.getRow(0) != null) {
+                    sheets.put(sheet.getSheetName(), readSheet(sheet));
+                }
             }
+            return sheets;
 
         } catch (Exception e) {
-            throw new RuntimeException("Failed to read Excel data", e);
+            throw new RuntimeException("Failed to read Excel data: " + file, e);
         }
+    }
+
+    private static List<Map<String, String>> readSheet(Sheet sheet) {
 
-        return dataList;
+        // ✅ Headers read once, not once per cell
+        Row headerRow = sheet.getRow(0);
+        String[] headers = new String[headerRow.getLastCellNum()];
+        for (int j = 0; j < headers.length; j++) {
+            headers[j] = getCellValueAsString(headerRow.getCell(j));
+        }
+
+        List<Map<String, String>> rows = new ArrayList<>(sheet.getLastRowNum());
+
+        for (int i = 1; i <= sheet.getLastRowNum(); i++) {
+            Row row = sheet.getRow(i);
+            if (row == null) continue;
+
+            String[] values = new String[headers.length];
+            for (int j = 0; j < headers.length; j++) {
+                values[j] = getCellValueAsString(row.getCell(j));
+            }
+            rows.add(toMap(headers, values));
+        }
+        return rows;
     }
 
     private static String getCellValueAsString(Cell cell) {
@@ -72,4 +178,207 @@ public final class ExcelReader {
             default -> "";
         };
     }
+
+    private static Map<String, String> toMap(String[] headers, String[] values) {
+        Map<String, String> row = new LinkedHashMap<>(headers.length * 2);
+        for (int j = 0; j < headers.length; j++) {
+            row.put(headers[j], values[j] == null ? "" : values[j]);
+        }
+        return Collections.unmodifiableMap(row);
+    }
+
+    private static InputStream open(String resourcePath) {
+
+        InputStream is = Thread.currentThread()
+                .getContextClassLoader()
+                .getResourceAsStream(resourcePath);
+
+        if (is == null) {
+            throw new RuntimeException(
+                    "Excel file not found on classpath: " + resourcePath
+            );
+        }
+        return is;
+    }
+
+    /* =========================
+       Streaming (SAX) mode
+       ========================= */
+
+    private static Map<String, String> streamRow(String resourcePath, String sheetName, int rowNumber) {
+
+        if (rowNumber <= 0) {
+            throw invalidRow(rowNumber, 0);
+        }
+
+        OPCPackage pkg = null;
+        try {
+            pkg = openPackage(resourcePath);
+
+            XSSFReader reader = new XSSFReader(pkg);
+            SharedStrings strings = new ReadOnlySharedStringsTable(pkg);
+
+            XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+            while (sheets.hasNext()) {
+                try (InputStream sheetXml = sheets.next()) {
+                    if (!sheetName.equals(sheets.getSheetName())) {
+                        continue;
+                    }
+
+                    RowHandler handler = new RowHandler(strings, rowNumber);
+                    XMLReader parser = XMLHelper.newXMLReader();
+                    parser.setContentHandler(handler);
+                    try {
+                        parser.parse(new InputSource(sheetXml));
+                    } catch (RowFound found) {
+                        // ✅ Stopped at the requested row; the rest of the sheet is never read
+                        return toMap(handler.headers, handler.target);
+                    }
+                    throw invalidRow(rowNumber, handler.dataRows);
+                }
+            }
+
+            throw new RuntimeException(
+                    "Sheet not found: " + sheetName
+            );
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to read Excel data", e);
+        } finally {
+            // revert(), not close(): close() would try to save a read-only package
+            if (pkg != null) {
+                pkg.revert();
+            }
+        }
+    }
+
+    // Straight from disk when the resource is a file (no in-memory copy of the zip)
+    private static OPCPackage openPackage(String resourcePath) throws Exception {
+
+        URL url = Thread.currentThread().getContextClassLoader().getResource(resourcePath);
+        if (url != null && "file".equals(url.getProtocol())) {
+            File file = Path.of(url.toURI()).toFile();
+            return OPCPackage.open(file, PackageAccess.READ);
+        }
+
+        try (InputStream is = open(resourcePath)) {
+            return OPCPackage.open(is);
+        }
+    }
+
+    private static final class RowFound extends SAXException {
+        RowFound() {
+            super("row found");
+        }
+    }
+
+    /**
+     * Collects the header row and the requested data row from sheet XML
+     * (&lt;row&gt;&lt;c r="B2" t="s"&gt;&lt;v&gt;3&lt;/v&gt;&lt;/c&gt;…), then stops the parse.
+     */
+    private static final class RowHandler extends DefaultHandler {
+
+        private final SharedStrings strings;
+        private final int wanted;
+
+        private String[] headers;
+        private String[] target;
+        private int dataRows;
+
+        private List<String> current;
+        private int column;
+        private String type;
+        private boolean formula;
+        private boolean inValue;
+        private final StringBuilder text = new StringBuilder();
+
+        RowHandler(SharedStrings strings, int wanted) {
+            this.strings = strings;
+            this.wanted = wanted;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attrs) {
+            switch (localName) {
+                case "row" -> {
+                    current = new ArrayList<>();
+                    column = -1;
+                }
+                case "c" -> {
+                    String ref = attrs.getValue("r");
+                    column = ref != null ? columnIndex(ref) : column + 1;
+                    type = attrs.getValue("t");
+                    formula = false;
+                    text.setLength(0);
+                }
+                case "f" -> formula = true;
+                case "v", "t" -> inValue = true;
+                default -> { }
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                text.append(ch, start, length);
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) throws SAXException {
+            switch (localName) {
+                case "v", "t" -> inValue = false;
+                case "c" -> {
+                    while (current.size() <= column) {
+                        current.add("");
+                    }
+                    current.set(column, value());
+                }
+                case "row" -> endRow();
+                default -> { }
+            }
+        }
+
+        private void endRow() throws SAXException {
+
+            if (headers == null) {
+                headers = current.toArray(String[]::new);
+                return;
+            }
+
+            dataRows++;
+            if (dataRows == wanted) {
+                target = new String[headers.length];
+                for (int j = 0; j < headers.length && j < current.size(); j++) {
+                    target[j] = current.get(j);
+                }
+                throw new RowFound();
+            }
+        }
+
+        // Same conversions as getCellValueAsString (formula cells → "", like the workbook mode)
+        private String value() {
+            if (formula) {
+                return "";
+            }
+            String raw = text.toString();
+            return switch (type == null ? "n" : type) {
+                case "s" -> raw.isEmpty() ? "" : strings.getItemAt(Integer.parseInt(raw)).getString().trim();
+                case "inlineStr" -> raw.trim();
+                case "b" -> String.valueOf("1".equals(raw));
+                case "n" -> raw.isEmpty() ? "" : String.valueOf((long) Double.parseDouble(raw));
+                default -> "";
+            };
+        }
+
+        private static int columnIndex(String ref) {
+            int index = 0;
+            for (int i = 0; i < ref.length() && Character.isLetter(ref.charAt(i)); i++) {
+                index = index * 26 + (ref.charAt(i) - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
 }
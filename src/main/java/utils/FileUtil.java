@@ -1,41 +1,88 @@
 package utils;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.FileAlreadyExistsException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 public final class FileUtil {
 
+    private static final Logger logger = LogManager.getLogger(FileUtil.class);
+
+    // resource path → absolute file path handed to Selenium (same path for every thread)
+    private static final Map<String, String> CACHE = new ConcurrentHashMap<>();
+
+    private static volatile Path cacheDir;
+
     private FileUtil() {}
 
     /**
-     * Loads a file from src/test/resources and
-     * copies it to a temporary file for Selenium upload.
+     * Returns an absolute file path for a file in src/test/resources,
+     * for Selenium upload.
+     *
+     * - Resources already on disk (target/test-classes) are used in place: no copy.
+     * - Resources inside a jar are streamed once into a per-run cache directory
+     *   (sub-directory = SHA-256 of the content, original file name kept) that is
+     *   deleted when the JVM exits.
      *
      * Works on Windows, Linux, Mac, CI, Docker.
      */
     public static String getFileFromResources(String resourcePath) {
+        return CACHE.computeIfAbsent(resourcePath, FileUtil::materialize);
+    }
 
-        try (InputStream is =
-                     Thread.currentThread()
-                             .getContextClassLoader()
-                             .getResourceAsStream(resourcePath)) {
+    private static String materialize(String resourcePath) {
 
-            if (is == null) {
-                throw new RuntimeException(
-                        "File not found in test resources: " + resourcePath
-                );
+        URL url = Thread.currentThread()
+                .getContextClassLoader()
+                .getResource(resourcePath);
+
+        if (url == null) {
+            throw new RuntimeException(
+                    "File not found in test resources: " + resourcePath
+            );
+        }
+
+        try {
+            // ✅ Plain file on the classpath: hand out its own path
+            if ("file".equals(url.getProtocol())) {
+                return Path.of(url.toURI()).toAbsolutePath().toString();
             }
 
-            // Create temp file
             String fileName = Path.of(resourcePath).getFileName().toString();
-            Path tempFile = Files.createTempFile("upload_", "_" + fileName);
+            Path dir = cacheDir();
+
+            // Stream once, hashing on the way; the file is never held in memory
+            Path temp = Files.createTempFile(dir, "upload_", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            try (InputStream is = new DigestInputStream(url.openStream(), sha256)) {
+                Files.copy(is, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
 
-            // Copy resource → temp file
-            Files.copy(is, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            Path target = dir.resolve(HexFormat.of().formatHex(sha256.digest())).resolve(fileName);
+            Files.createDirectories(target.getParent());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (FileAlreadyExistsException e) {
+                // Same content already cached under another resource path
+                Files.delete(temp);
+            }
 
-            return tempFile.toAbsolutePath().toString();
+            logger.info("Upload file cached: {} → {}", resourcePath, target);
+            return target.toAbsolutePath().toString();
 
         } catch (Exception e) {
             throw new RuntimeException(
@@ -43,4 +90,29 @@ public final class FileUtil {
             );
         }
     }
+
+    private static Path cacheDir() throws IOException {
+
+        Path dir = cacheDir;
+        if (dir != null) {
+            return dir;
+        }
+
+        synchronized (FileUtil.class) {
+            if (cacheDir == null) {
+                Path created = Files.createTempDirectory("upload-cache_");
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> deleteTree(created), "upload-cache-cleanup"));
+                cacheDir = created;
+            }
+            return cacheDir;
+        }
+    }
+
+    private static void deleteTree(Path dir) {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        } catch (IOException ignored) {
+            // Best effort at JVM exit
+        }
+    }
 }
@@ -0,0 +1,214 @@
+package utils;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JfrEvents - Java Flight Recorder events for the framework lifecycle, so a
+ * recording can line up GC, allocation and lock contention with scenarios,
+ * steps, driver sessions, waits and screenshots.
+ *
+ * Enabled with jfr.events=true (default false). When off, every helper
+ * returns before allocating anything; when on but no recording is running,
+ * JFR's own isEnabled() check keeps the cost to a field read.
+ *
+ * Record with e.g.:
+ *   mvn test -Djfr.events=true -DargLine="-XX:StartFlightRecording=filename=target/run.jfr"
+ * and open the file in JDK Mission Control (events under "Selenium BDD").
+ */
+public final class JfrEvents {
+
+    private static final boolean ENABLED =
+            Boolean.parseBoolean(ConfigReader.getProperty("jfr.events", "false"));
+
+    private static final ThreadLocal<ScenarioEvent> SCENARIO = new ThreadLocal<>();
+    private static final ThreadLocal<StepEvent> STEP = new ThreadLocal<>();
+
+    private JfrEvents() {}
+
+    /* =========================
+       Scenario / step
+       ========================= */
+
+    public static void beginScenario(String name, String tags) {
+        if (!ENABLED) {
+            return;
+        }
+        ScenarioEvent event = new ScenarioEvent();
+        if (event.isEnabled()) {
+            event.scenario = name;
+            event.tags = tags;
+            event.begin();
+            SCENARIO.set(event);
+        }
+    }
+
+    public static void endScenario(String status) {
+        if (!ENABLED) {
+            return;
+        }
+        ScenarioEvent event = SCENARIO.get();
+        SCENARIO.remove();
+        if (event != null) {
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    public static void beginStep(String scenario, String step) {
+        if (!ENABLED) {
+            return;
+        }
+        StepEvent event = new StepEvent();
+        if (event.isEnabled()) {
+            event.scenario = scenario;
+            event.step = step;
+            event.begin();
+            STEP.set(event);
+        }
+    }
+
+    public static void endStep(String status) {
+        if (!ENABLED) {
+            return;
+        }
+        StepEvent event = STEP.get();
+        STEP.remove();
+        if (event != null) {
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    /* =========================
+       Driver / wait / screenshot
+       ========================= */
+
+    /**
+     * @return an event to pass to {@link #endDriverSession}, or null when disabled
+     */
+    public static DriverSessionEvent beginDriverSession(String action, String browser) {
+        if (!ENABLED) {
+            return null;
+        }
+        DriverSessionEvent event = new DriverSessionEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.action = action;
+        event.browser = browser;
+        event.begin();
+        return event;
+    }
+
+    public static void endDriverSession(DriverSessionEvent event, String source) {
+        if (event != null) {
+            event.source = source;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return an event to pass to {@link #endWait}, or null when disabled
+     */
+    public static WaitEvent beginWait(String condition) {
+        if (!ENABLED) {
+            return null;
+        }
+        WaitEvent event = new WaitEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.condition = condition;
+        event.begin();
+        return event;
+    }
+
+    public static void endWait(WaitEvent event, String outcome) {
+        if (event != null) {
+            event.outcome = outcome;
+            event.commit();
+        }
+    }
+
+    /**
+     * @return an event to pass to {@link #endScreenshot}, or null when disabled
+     */
+    public static ScreenshotEvent beginScreenshot(String name) {
+        if (!ENABLED) {
+            return null;
+        }
+        ScreenshotEvent event = new ScreenshotEvent();
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.name = name;
+        event.begin();
+        return event;
+    }
+
+    public static void endScreenshot(ScreenshotEvent event, int bytes) {
+        if (event != null) {
+            event.bytes = bytes;
+            event.commit();
+        }
+    }
+
+    /* =========================
+       Event types
+       ========================= */
+
+    @Name("seleniumbdd.Scenario")
+    @Label("Scenario")
+    @Category("Selenium BDD")
+    @StackTrace(false)
+    public static class ScenarioEvent extends Event {
+        @Label("Scenario") String scenario;
+        @Label("Tags") String tags;
+        @Label("Status") String status;
+    }
+
+    @Name("seleniumbdd.Step")
+    @Label("Step")
+    @Category("Selenium BDD")
+    @StackTrace(false)
+    public static class StepEvent extends Event {
+        @Label("Scenario") String scenario;
+        @Label("Step") String step;
+        @Label("Status") String status;
+    }
+
+    @Name("seleniumbdd.DriverSession")
+    @Label("Driver Session")
+    @Category("Selenium BDD")
+    @Description("WebDriver session create / release / quit")
+    @StackTrace(false)
+    public static class DriverSessionEvent extends Event {
+        @Label("Action") String action;
+        @Label("Browser") String browser;
+        @Label("Source") @Description("new, pool, prewarm, context") String source;
+    }
+
+    @Name("seleniumbdd.Wait")
+    @Label("Wait")
+    @Category("Selenium BDD")
+    @StackTrace(false)
+    public static class WaitEvent extends Event {
+        @Label("Condition") @Description("Page class | condition + locator") String condition;
+        @Label("Outcome") @Description("satisfied, timeout, error") String outcome;
+    }
+
+    @Name("seleniumbdd.Screenshot")
+    @Label("Screenshot")
+    @Category("Selenium BDD")
+    @StackTrace(false)
+    public static class ScreenshotEvent extends Event {
+        @Label("Name") String name;
+        @Label("Size") @DataAmount int bytes;
+    }
+}
@@ -1,34 +1,47 @@
 package utils;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Stateless JSON reader utility.
  * Reads JSON from classpath and returns Map<String, String>.
+ *
+ * {@link #readRecord} looks up a single top-level record without binding the
+ * whole file: the first lookup streams the file once with Jackson's token
+ * parser, binds only the requested object and remembers the byte range of
+ * every record; later lookups read just that range.
  */
 public final class JsonReader {
 
     private static final ObjectMapper MAPPER = new ObjectMapper();
 
+    private static final TypeReference<Map<String, String>> RECORD = new TypeReference<>() {};
+
+    // resource → (record key → {start, end} byte offsets)
+    private static final Map<String, Map<String, long[]>> OFFSETS = new ConcurrentHashMap<>();
+
     private JsonReader() {}
 
     public static Map<String, Map<String, String>> readJsonAsMap(
             String resourcePath
     ) {
-        try (InputStream is =
-                     Thread.currentThread()
-                             .getContextClassLoader()
-                             .getResourceAsStream(resourcePath)) {
-
-            if (is == null) {
-                throw new RuntimeException(
-                        "JSON file not found on classpath: " + resourcePath
-                );
-            }
+        try (InputStream is = open(resourcePath)) {
 
             return MAPPER.readValue(
                     is,
@@ -41,4 +54,152 @@ public final class JsonReader {
             );
         }
     }
+
+    /**
+     * One top-level record of a {"key": {...}, ...} file.
+     *
+     * @return the record, or empty when the key is not in the file
+     */
+    public static Optional<Map<String, String>> readRecord(
+            String resourcePath,
+            String recordKey
+    ) {
+        try {
+            Map<String, long[]> offsets = OFFSETS.get(resourcePath);
+            if (offsets == null) {
+                return scan(resourcePath, recordKey);
+            }
+
+            long[] range = offsets.get(recordKey);
+            if (range == null) {
+                return Optional.empty();
+            }
+            return Optional.of(MAPPER.readValue(readRange(resourcePath, range[0], range[1]), RECORD));
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(
+                    "Failed to read JSON from classpath: " + resourcePath, e
+            );
+        }
+    }
+
+    /**
+     * Top-level record keys in file order (from the offset index; one streaming pass on first use).
+     */
+    public static List<String> recordKeys(String resourcePath) {
+        try {
+            if (!OFFSETS.containsKey(resourcePath)) {
+                scan(resourcePath, null);
+            }
+            return List.copyOf(OFFSETS.get(resourcePath).keySet());
+
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new RuntimeException(
+                    "Failed to read JSON from classpath: " + resourcePath, e
+            );
+        }
+    }
+
+    /**
+     * Same as {@link #readJsonAsMap(String)} for a file (used by the build-time {@link TestDataIndex}).
+     */
+    static Map<String, Map<String, String>> readJsonFile(Path file) {
+        try {
+            return MAPPER.readValue(
+                    file.toFile(),
+                    new TypeReference<Map<String, Map<String, String>>>() {}
+            );
+        } catch (Exception e) {
+            throw new RuntimeException(
+                    "Failed to read JSON file: " + file, e
+            );
+        }
+    }
+
+    /* =========================
+       Streaming lookup
+       ========================= */
+
+    // One pass over the file: binds the wanted record, skips the rest, records every range
+    private static Optional<Map<String, String>> scan(String resourcePath, String recordKey) throws Exception {
+
+        Map<String, long[]> offsets = new LinkedHashMap<>();
+        Map<String, String> found = null;
+
+        try (InputStream is = open(resourcePath);
+             JsonParser parser = MAPPER.getFactory().createParser(is)) {
+
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalStateException("Expected a JSON object at the top level");
+            }
+
+            // Duplicate keys: the last occurrence wins, as when binding the whole file
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String key = parser.currentName();
+                JsonToken value = parser.nextToken();
+                long start = parser.currentTokenLocation().getByteOffset();
+                boolean wanted = key.equals(recordKey);
+
+                if (value == JsonToken.START_OBJECT && wanted) {
+                    found = MAPPER.readValue(parser, RECORD);
+                } else {
+                    parser.skipChildren();
+                    if (wanted) {
+                        found = null;
+                    }
+                }
+
+                if (value == JsonToken.START_OBJECT) {
+                    offsets.put(key, new long[]{start, parser.currentLocation().getByteOffset()});
+                } else {
+                    offsets.remove(key);
+                }
+            }
+        }
+
+        OFFSETS.putIfAbsent(resourcePath, Collections.unmodifiableMap(offsets));
+        return Optional.ofNullable(found);
+    }
+
+    // Positional read for file: resources; skip + read for anything else (jar)
+    private static byte[] readRange(String resourcePath, long start, long end) throws Exception {
+
+        byte[] bytes = new byte[Math.toIntExact(end - start)];
+
+        URL url = Thread.currentThread().getContextClassLoader().getResource(resourcePath);
+        if (url != null && "file".equals(url.getProtocol())) {
+            try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                ByteBuffer buffer = ByteBuffer.wrap(bytes);
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, start + buffer.position()) < 0) {
+                        throw new IllegalStateException("JSON file changed during the run: " + resourcePath);
+                    }
+                }
+            }
+            return bytes;
+        }
+
+        try (InputStream is = open(resourcePath)) {
+            is.skipNBytes(start);
+            return is.readNBytes(bytes.length);
+        }
+    }
+
+    private static InputStream open(String resourcePath) {
+
+        InputStream is = Thread.currentThread()
+                .getContextClassLoader()
+                .getResourceAsStream(resourcePath);
+
+        if (is == null) {
+            throw new RuntimeException(
+                    "JSON file not found on classpath: " + resourcePath
+            );
+        }
+        return is;
+    }
 }
@@ -0,0 +1,168 @@
+package utils;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+/**
+ * ObserverWaitEngine - event-driven waits (wait.engine=observer).
+ *
+ * Instead of polling from Java (one WebDriver round trip per poll), a single
+ * executeAsyncScript call installs a MutationObserver in the page and resolves
+ * as soon as the condition holds, or with null when the timeout elapses.
+ * A 100 ms in-page safety check covers changes that do not mutate the DOM
+ * (CSS transitions, layout).
+ *
+ * If the page navigates while waiting, the script is re-installed on the new
+ * document until the overall timeout is spent.
+ */
+public class ObserverWaitEngine {
+
+    public static final String PRESENT = "present";
+    public static final String VISIBLE = "visible";
+    public static final String CLICKABLE = "clickable";
+    public static final String INVISIBLE = "invisible";
+    public static final String TEXT_EQUALS = "text";
+    public static final String ATTRIBUTE_CONTAINS = "attrContains";
+    public static final String ATTRIBUTE_EQUALS = "attrEquals";
+    public static final String STABLE = "stable";
+
+    private static final String WAIT_SCRIPT = DomScripts.withHelpers("""
+            var using = arguments[0], value = arguments[1], cond = arguments[2];
+            var a = arguments[3], b = arguments[4], timeout = arguments[5];
+            var done = arguments[arguments.length - 1];
+
+            var finished = false, observer = null, safety = null, timer = null;
+            var watched = null, lastChange = Date.now(), subtreeObserver = null;
+
+            function attr(el, name) {
+              var v = el.getAttribute(name);
+              if (v === null && name in el) v = el[name];
+              return v === null || v === undefined ? null : String(v);
+            }
+
+            function check() {
+              var el;
+              try { el = __find(using, value); } catch (e) { return null; }
+              switch (cond) {
+                case 'present':      return el;
+                case 'visible':      return __visible(el) ? el : null;
+                case 'clickable':    return __visible(el) && !el.disabled ? el : null;
+                case 'invisible':    return !__visible(el) ? true : null;
+                case 'text':         return el && __text(el) === a ? true : null;
+                case 'attrContains': return el && (attr(el, a) || '').indexOf(b) >= 0 ? true : null;
+                case 'attrEquals':   return el && attr(el, a) === b ? true : null;
+                case 'stable':
+                  if (!el) { watched = null; return null; }
+                  if (el !== watched) {
+                    if (subtreeObserver) subtreeObserver.disconnect();
+                    watched = el;
+                    lastChange = Date.now();
+                    subtreeObserver = new MutationObserver(function () { lastChange = Date.now(); });
+                    subtreeObserver.observe(el, {subtree: true, childList: true, attributes: true, characterData: true});
+                  }
+                  return Date.now() - lastChange >= a ? true : null;
+              }
+              return null;
+            }
+
+            function finish(result) {
+              if (finished) return;
+              finished = true;
+              if (observer) observer.disconnect();
+              if (subtreeObserver) subtreeObserver.disconnect();
+              clearInterval(safety);
+              clearTimeout(timer);
+              done(result);
+            }
+
+            function evaluate() {
+              var r = check();
+              if (r !== null) finish(r);
+            }
+
+            evaluate();
+            if (!finished) {
+              observer = new MutationObserver(evaluate);
+              observer.observe(document.documentElement || document,
+                  {subtree: true, childList: true, attributes: true, characterData: true});
+              safety = setInterval(evaluate, 100);
+              timer = setTimeout(function () { finish(null); }, timeout);
+            }
+            """);
+
+    private final JavascriptExecutor js;
+    private final long timeoutMillis;
+
+    public ObserverWaitEngine(WebDriver driver, long timeoutMillis) {
+        this.js = (JavascriptExecutor) driver;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public static boolean supports(By locator) {
+        return DomScripts.toW3c(locator) != null;
+    }
+
+    public WebElement element(By locator, String condition) {
+        return (WebElement) await(locator, condition, null, null, timeoutMillis);
+    }
+
+    public boolean condition(By locator, String condition, Object a, Object b) {
+        return Boolean.TRUE.equals(await(locator, condition, a, b, timeoutMillis));
+    }
+
+    public boolean stable(By locator, int stableMillis, long timeoutMillis) {
+        return Boolean.TRUE.equals(await(locator, STABLE, stableMillis, null, timeoutMillis));
+    }
+
+    /**
+     * Resolves with the element / Boolean.TRUE, or throws TimeoutException.
+     */
+    private Object await(By locator, String condition, Object a, Object b, long timeout) {
+
+        String[] w3c = DomScripts.toW3c(locator);
+        if (w3c == null) {
+            throw new IllegalArgumentException("Locator not supported by observer engine: " + locator);
+        }
+
+        long deadline = System.currentTimeMillis() + timeout;
+
+        while (true) {
+            long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                break;
+            }
+
+            try {
+                Object result = js.executeAsyncScript(WAIT_SCRIPT, w3c[0], w3c[1], condition, a, b, remaining);
+                if (result != null) {
+                    return result;
+                }
+                break;
+
+            } catch (ScriptTimeoutException e) {
+                break;
+            } catch (JavascriptException | StaleElementReferenceException e) {
+                // Document was replaced (navigation) while waiting: observe the new one
+                sleepQuietly(50);
+            }
+        }
+
+        throw new TimeoutException(
+                "Expected condition failed: waiting for " + condition + " of " + locator
+                        + " (observer engine, tried for " + timeout + " ms)");
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,8 @@
 package utils;
 
+import java.util.Collection;
+import java.util.Set;
+
 /**
  * Holds scenario-level metadata for reporting and logging in ThreadLocal.
  * This is the SINGLE SOURCE OF TRUTH for scenario name
@@ -9,6 +12,10 @@ public final class ScenarioContext {
 
     private static final ThreadLocal<String> scenarioName = new ThreadLocal<>();
     private static final ThreadLocal<String> dataIdentifier = new ThreadLocal<>();
+    private static final ThreadLocal<Set<String>> tags = new ThreadLocal<>();
+
+    // Pickle id (+ "#" + data row key for @dataSource rows) — unlike the name, unique and stable across retries
+    private static final ThreadLocal<String> executionKey = new ThreadLocal<>();
 
     private ScenarioContext() {}
 
@@ -28,8 +35,31 @@ public final class ScenarioContext {
         return dataIdentifier.get();
     }
 
+    public static void setExecutionKey(String key) {
+        executionKey.set(key);
+    }
+
+    public static String getExecutionKey() {
+        return executionKey.get();
+    }
+
+    public static void setTags(Collection<String> scenarioTags) {
+        tags.set(Set.copyOf(scenarioTags));
+    }
+
+    public static Set<String> getTags() {
+        Set<String> current = tags.get();
+        return current != null ? current : Set.of();
+    }
+
+    public static boolean hasTag(String tag) {
+        return getTags().contains(tag);
+    }
+
     public static void clear() {
         scenarioName.remove();
         dataIdentifier.remove();
+        tags.remove();
+        executionKey.remove();
     }
 }
\ No newline at end of file
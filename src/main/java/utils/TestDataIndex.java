@@ -0,0 +1,349 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * TestDataIndex - precompiled binary index of all Excel / JSON test data.
+ *
+ * Build time: the pom runs {@link #main} (exec-maven-plugin, process-test-resources)
+ * over target/test-classes/testdata and writes testdata/testdata.idx next to the data.
+ *
+ * Run time: {@link #lookup} memory-maps the index once and decodes only the requested
+ * record, so POI / Jackson are never loaded. It returns empty (and TestDataLoader falls
+ * back to ExcelReader / JsonReader) when the index is missing, disabled
+ * (testdata.index=false) or older than the data file it was built from.
+ *
+ * Sources are classpath paths: "testdata/testdata.xlsx#StudentForm" (key = 1-based
+ * data row) and "testdata/json/studentForm.json" (key = record key).
+ *
+ * Layout (big-endian; str = int length + UTF-8 bytes):
+ *   int magic, int sourceCount,
+ *   per source: str name, long size, long lastModified, int records,
+ *               per record: str key, int offset (from the start of the data section)
+ *   data section, per record: int fields, per field: str name, str value
+ */
+public final class TestDataIndex {
+
+    private static final Logger logger = LogManager.getLogger(TestDataIndex.class);
+
+    public static final String RESOURCE = "testdata/testdata.idx";
+
+    private static final int MAGIC = 0x54445831; // "TDX1"
+
+    private static volatile Index index;
+
+    private TestDataIndex() {}
+
+    /* =========================
+       Runtime lookup
+       ========================= */
+
+    /**
+     * @return the record, or empty when the index can't answer (caller falls back to the reader)
+     */
+    public static Optional<Map<String, String>> lookup(String source, String key) {
+
+        Index current = index();
+        if (current == Index.NONE) {
+            return Optional.empty();
+        }
+
+        Map<String, Integer> records = current.sources().get(source);
+        if (records == null) {
+            return Optional.empty();
+        }
+
+        Integer offset = records.get(key);
+        return offset == null
+                ? Optional.empty()
+                : Optional.of(current.decode(offset));
+    }
+
+    /**
+     * Record keys of a source in index order, or empty when the index can't answer.
+     */
+    public static Optional<List<String>> keys(String source) {
+        Map<String, Integer> records = index().sources().get(source);
+        return records == null ? Optional.empty() : Optional.of(List.copyOf(records.keySet()));
+    }
+
+    private static Index index() {
+
+        Index current = index;
+        if (current != null) {
+            return current;
+        }
+
+        synchronized (TestDataIndex.class) {
+            if (index == null) {
+                index = open();
+            }
+            return index;
+        }
+    }
+
+    private static Index open() {
+
+        if (!Boolean.parseBoolean(ConfigReader.getProperty("testdata.index", "true"))) {
+            return Index.NONE;
+        }
+
+        URL url = Thread.currentThread().getContextClassLoader().getResource(RESOURCE);
+        if (url == null) {
+            logger.info("No test data index on the classpath ({}); reading Excel / JSON directly", RESOURCE);
+            return Index.NONE;
+        }
+
+        try {
+            ByteBuffer buffer;
+            if ("file".equals(url.getProtocol())) {
+                try (FileChannel channel = FileChannel.open(Path.of(url.toURI()), StandardOpenOption.READ)) {
+                    buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+            } else {
+                try (InputStream is = url.openStream()) {
+                    buffer = ByteBuffer.wrap(is.readAllBytes());
+                }
+            }
+            return Index.read(buffer);
+
+        } catch (Exception e) {
+            logger.warn("Test data index unusable, reading Excel / JSON directly: {}", e.getMessage());
+            return Index.NONE;
+        }
+    }
+
+    /**
+     * Directory parsed once; record bodies are decoded on demand with absolute reads,
+     * so one shared buffer serves every thread.
+     */
+    private record Index(ByteBuffer buffer, int dataStart, Map<String, Map<String, Integer>> sources) {
+
+        static final Index NONE = new Index(ByteBuffer.allocate(0), 0, Map.of());
+
+        static Index read(ByteBuffer buffer) {
+
+            ByteBuffer in = buffer.duplicate();
+            if (in.getInt() != MAGIC) {
+                throw new IllegalStateException("not a test data index");
+            }
+
+            Map<String, Map<String, Integer>> sources = new HashMap<>();
+            int sourceCount = in.getInt();
+            for (int s = 0; s < sourceCount; s++) {
+                String name = readString(in);
+                long size = in.getLong();
+                long lastModified = in.getLong();
+                int recordCount = in.getInt();
+
+                Map<String, Integer> records = new LinkedHashMap<>(recordCount * 2);
+                for (int r = 0; r < recordCount; r++) {
+                    records.put(readString(in), in.getInt());
+                }
+
+                if (isCurrent(name, size, lastModified)) {
+                    sources.put(name, records);
+                } else {
+                    logger.warn("Test data index is older than {}; that source is read directly (rebuild to refresh)", name);
+                }
+            }
+
+            logger.info("Test data index mapped: {} sources, {} KB", sources.size(), buffer.capacity() / 1024);
+            return new Index(buffer, in.position(), sources);
+        }
+
+        Map<String, String> decode(int offset) {
+
+            int pos = dataStart + offset;
+            int fields = buffer.getInt(pos);
+            pos += Integer.BYTES;
+
+            Map<String, String> record = new LinkedHashMap<>(fields * 2);
+            for (int f = 0; f < fields; f++) {
+                int nameLength = buffer.getInt(pos);
+                String name = string(pos + Integer.BYTES, nameLength);
+                pos += Integer.BYTES + nameLength;
+
+                int valueLength = buffer.getInt(pos);
+                String value = string(pos + Integer.BYTES, valueLength);
+                pos += Integer.BYTES + valueLength;
+
+                record.put(name, value);
+            }
+            return Collections.unmodifiableMap(record);
+        }
+
+        private String string(int pos, int length) {
+            byte[] bytes = new byte[length];
+            buffer.get(pos, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        private static String readString(ByteBuffer in) {
+            byte[] bytes = new byte[in.getInt()];
+            in.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+
+        // Data file edited after the build (e.g. IDE run without Maven): don't serve old data
+        private static boolean isCurrent(String source, long size, long lastModified) {
+
+            String resource = source.contains("#") ? source.substring(0, source.indexOf('#')) : source;
+            URL url = Thread.currentThread().getContextClassLoader().getResource(resource);
+            if (url == null || !"file".equals(url.getProtocol())) {
+                return url != null;
+            }
+
+            try {
+                Path file = Path.of(url.toURI());
+                return Files.size(file) == size && Files.getLastModifiedTime(file).toMillis() == lastModified;
+            } catch (Exception e) {
+                return false;
+            }
+        }
+    }
+
+    /* =========================
+       Build-time compiler
+       ========================= */
+
+    /**
+     * Compiles every .xlsx / .json under {@code <root>/<dataDir>} into {@code <root>/testdata/testdata.idx}.
+     *
+     * @param args [0] classpath root (target/test-classes), [1] data directory under it (default testdata)
+     */
+    public static void main(String[] args) throws IOException {
+
+        if (args.length < 1) {
+            throw new IllegalArgumentException("Usage: TestDataIndex <classpath root> [data dir]");
+        }
+
+        Path root = Path.of(args[0]).toAbsolutePath();
+        Path dataDir = root.resolve(args.length > 1 ? args[1] : "testdata");
+        Path output = root.resolve(RESOURCE);
+
+        if (!Files.isDirectory(dataDir)) {
+            logger.info("No test data under {}; index not built", dataDir);
+            return;
+        }
+
+        long start = System.nanoTime();
+
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(dataDir)) {
+            files = walk.filter(Files::isRegularFile)
+                    .filter(p -> !p.getFileName().toString().startsWith("~$"))
+                    .filter(p -> p.toString().endsWith(".xlsx") || p.toString().endsWith(".json"))
+                    .sorted()
+                    .toList();
+        }
+
+        // Source name → (key → record), in a stable order
+        Map<String, Map<String, Map<String, String>>> sources = new TreeMap<>();
+        Map<String, Path> sourceFiles = new HashMap<>();
+
+        for (Path file : files) {
+            String resource = root.relativize(file).toString().replace('\\', '/');
+
+            if (resource.endsWith(".xlsx")) {
+                ExcelReader.readWorkbook(file).forEach((sheet, rows) -> {
+                    Map<String, Map<String, String>> records = new LinkedHashMap<>();
+                    for (int i = 0; i < rows.size(); i++) {
+                        records.put(String.valueOf(i + 1), rows.get(i));
+                    }
+                    sources.put(resource + "#" + sheet, records);
+                    sourceFiles.put(resource + "#" + sheet, file);
+                });
+            } else {
+                sources.put(resource, new LinkedHashMap<>(JsonReader.readJsonFile(file)));
+                sourceFiles.put(resource, file);
+            }
+        }
+
+        Path temp = Files.createTempFile(output.getParent(), "testdata", ".idx.tmp");
+        try (OutputStream os = Files.newOutputStream(temp)) {
+            write(sources, sourceFiles, os);
+        }
+        Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        logger.info("Test data index written: {} ({} sources, {} bytes, {} ms)",
+                output, sources.size(), Files.size(output), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void write(
+            Map<String, Map<String, Map<String, String>>> sources,
+            Map<String, Path> sourceFiles,
+            OutputStream target
+    ) throws IOException {
+
+        // Data section first, so the directory can hold the offsets
+        ByteArrayOutputStream dataBytes = new ByteArrayOutputStream();
+        DataOutputStream data = new DataOutputStream(dataBytes);
+        Map<String, Map<String, Integer>> offsets = new LinkedHashMap<>();
+
+        sources.forEach((source, records) -> {
+            Map<String, Integer> recordOffsets = new LinkedHashMap<>();
+            records.forEach((key, record) -> {
+                recordOffsets.put(key, data.size());
+                try {
+                    data.writeInt(record.size());
+                    for (Map.Entry<String, String> field : record.entrySet()) {
+                        writeString(data, field.getKey());
+                        writeString(data, field.getValue() == null ? "" : field.getValue());
+                    }
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+            offsets.put(source, recordOffsets);
+        });
+        data.flush();
+
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeInt(MAGIC);
+        out.writeInt(offsets.size());
+        for (Map.Entry<String, Map<String, Integer>> source : offsets.entrySet()) {
+            Path file = sourceFiles.get(source.getKey());
+            writeString(out, source.getKey());
+            out.writeLong(Files.size(file));
+            out.writeLong(Files.getLastModifiedTime(file).toMillis());
+            out.writeInt(source.getValue().size());
+            for (Map.Entry<String, Integer> record : source.getValue().entrySet()) {
+                writeString(out, record.getKey());
+                out.writeInt(record.getValue());
+            }
+        }
+        dataBytes.writeTo(out);
+        out.flush();
+    }
+
+    // Length-prefixed UTF-8 (writeUTF would cap values at 64 KB)
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -4,6 +4,7 @@ import reports.ExtentTestManager;
 
 import java.util.List;
 import java.util.Map;
+import java.util.stream.IntStream;
 
 /**
  * Central test data loader for Excel & JSON.
@@ -26,17 +27,10 @@ public final class TestDataLoader {
             String sheetName
     ) {
 
-        List<Map<String, String>> allRows =
-                ExcelReader.getData(EXCEL_PATH, sheetName);
-
-        if (rowNumber <= 0 || rowNumber > allRows.size()) {
-            throw new IllegalArgumentException(
-                    "Invalid Excel row number: " + rowNumber +
-                            " (Available rows: " + allRows.size() + ")"
-            );
-        }
-
-        Map<String, String> data = allRows.get(rowNumber - 1);
+        // ✅ Precompiled index first; cached sheet / streaming read when it can't answer
+        Map<String, String> data =
+                TestDataIndex.lookup(EXCEL_PATH + "#" + sheetName, String.valueOf(rowNumber))
+                        .orElseGet(() -> ExcelReader.getRow(EXCEL_PATH, sheetName, rowNumber));
 
         // ✅ DEFAULT data identifier
         ScenarioContext.setDataIdentifier(
@@ -60,16 +54,9 @@ public final class TestDataLoader {
 
         String fullPath = JSON_BASE_PATH + fileName;
 
-        Map<String, Map<String, String>> allData =
-                JsonReader.readJsonAsMap(fullPath);
-
-        if (!allData.containsKey(recordKey)) {
-            throw new RuntimeException(
-                    "Record key '" + recordKey + "' not found in " + fileName
-            );
-        }
-
-        Map<String, String> data = allData.get(recordKey);
+        Map<String, String> data =
+                TestDataIndex.lookup(fullPath, recordKey)
+                        .orElseGet(() -> readJsonRecord(fullPath, fileName, recordKey));
 
         // ✅ DEFAULT data identifier
         ScenarioContext.setDataIdentifier(
@@ -83,4 +70,66 @@ public final class TestDataLoader {
         TestDataContext.set(data);
         return data;
     }
+
+    /* ===================== Data source rows ===================== */
+
+    /**
+     * Loads the row TestRunner bound to this thread for a @dataSource scenario.
+     */
+    public static Map<String, String> loadCurrentRow() {
+
+        DataSource.Row row = DataSource.current()
+                .orElseThrow(() -> new IllegalStateException(
+                        "No data row bound: tag the scenario with @dataSource(sheet=...) or " +
+                                "@dataSource(json=...) and run it through TestRunner"
+                ));
+
+        return switch (row.source().kind()) {
+            case SHEET -> loadExcelRow(Integer.parseInt(row.key()), row.source().name());
+            case JSON -> loadJsonRecord(row.source().name(), row.key());
+        };
+    }
+
+    /**
+     * Row numbers ("1".."N") of a sheet or record keys of a JSON file, in source order.
+     */
+    static List<String> keys(DataSource source) {
+
+        String path = source.kind() == DataSource.Kind.SHEET
+                ? EXCEL_PATH + "#" + source.name()
+                : JSON_BASE_PATH + source.name();
+
+        return TestDataIndex.keys(path).orElseGet(() -> switch (source.kind()) {
+            case SHEET -> IntStream.rangeClosed(1, ExcelReader.getData(EXCEL_PATH, source.name()).size())
+                    .mapToObj(String::valueOf)
+                    .toList();
+            case JSON -> JsonReader.recordKeys(path);
+        });
+    }
+
+    private static Map<String, String> readJsonRecord(
+            String fullPath,
+            String fileName,
+            String recordKey
+    ) {
+
+        // ✅ streaming (default): seek to the record; full: bind the whole file
+        if (!"full".equalsIgnoreCase(ConfigReader.getProperty("json.mode", "streaming").trim())) {
+            return JsonReader.readRecord(fullPath, recordKey)
+                    .orElseThrow(() -> new RuntimeException(
+                            "Record key '" + recordKey + "' not found in " + fileName
+                    ));
+        }
+
+        Map<String, Map<String, String>> allData =
+                JsonReader.readJsonAsMap(fullPath);
+
+        if (!allData.containsKey(recordKey)) {
+            throw new RuntimeException(
+                    "Record key '" + recordKey + "' not found in " + fileName
+            );
+        }
+
+        return allData.get(recordKey);
+    }
 }
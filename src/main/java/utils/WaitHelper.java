@@ -8,16 +8,24 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 import reports.ExtentTestManager;
+import reports.ScenarioMetrics;
 
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class WaitHelper {
 
     private final WebDriver driver;
     private final WebDriverWait wait;
+    // Non-null when wait.engine=observer (MutationObserver-based waits)
+    private final ObserverWaitEngine observer;
+    // Non-null when wait.engine=adaptive (history-driven polling intervals)
+    private final AdaptivePollingWait adaptive;
+    // Page object owning this helper; part of the adaptive engine's wait keys
+    private final String owner;
     private static final Logger logger = LogManager.getLogger(WaitHelper.class);
 
     public WaitHelper() {
@@ -25,74 +33,107 @@ public class WaitHelper {
     }
 
     public WaitHelper(WebDriver driver) {
+        this(driver, null);
+    }
+
+    public WaitHelper(WebDriver driver, Class<?> ownerClass) {
         if (driver == null) {
             throw new IllegalStateException(
                     "WebDriver is null. Ensure DriverFactory.initializeDriver() was called."
             );
         }
         this.driver = driver;
-        this.wait = new WebDriverWait(
-                driver,
-                Duration.ofSeconds(ConfigReader.getInt("explicitWait"))
-        );
+        this.owner = ownerClass != null ? ownerClass.getSimpleName() : "WaitHelper";
+
+        Duration timeout = Duration.ofSeconds(ConfigReader.getInt("explicitWait"));
+        String engine = ConfigReader.getProperty("wait.engine", "polling");
+
+        this.wait = new WebDriverWait(driver, timeout);
+        this.observer = "observer".equalsIgnoreCase(engine)
+                ? new ObserverWaitEngine(driver, timeout.toMillis())
+                : null;
+        this.adaptive = "adaptive".equalsIgnoreCase(engine)
+                ? new AdaptivePollingWait(driver, timeout.toMillis())
+                : null;
     }
 
     /* ---------- Core Waits ---------- */
 
     public WebElement waitForVisibility(By locator) {
         log("Waiting for visibility: " + locator);
-        return performWait(ExpectedConditions.visibilityOfElementLocated(locator));
+        if (useObserver(locator)) {
+            return runWait(waitKey("visible " + locator), () -> observer.element(locator, ObserverWaitEngine.VISIBLE));
+        }
+        return performWait(waitKey("visible " + locator), ExpectedConditions.visibilityOfElementLocated(locator));
     }
 
     public WebElement waitForClickable(By locator) {
         log("Waiting for clickability: " + locator);
-        return performWait(ExpectedConditions.elementToBeClickable(locator));
+        if (useObserver(locator)) {
+            return runWait(waitKey("clickable " + locator), () -> observer.element(locator, ObserverWaitEngine.CLICKABLE));
+        }
+        return performWait(waitKey("clickable " + locator), ExpectedConditions.elementToBeClickable(locator));
     }
 
     public WebElement waitForPresence(By locator) {
         log("Waiting for presence: " + locator);
-        return performWait(ExpectedConditions.presenceOfElementLocated(locator));
+        if (useObserver(locator)) {
+            return runWait(waitKey("present " + locator), () -> observer.element(locator, ObserverWaitEngine.PRESENT));
+        }
+        return performWait(waitKey("present " + locator), ExpectedConditions.presenceOfElementLocated(locator));
     }
 
     public List<WebElement> waitForAllPresence(By locator) {
         log("Waiting for presence of all elements: " + locator);
-        return performWait(ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
+        return performWait(waitKey("allPresent " + locator), ExpectedConditions.presenceOfAllElementsLocatedBy(locator));
     }
 
     public boolean waitForInvisibility(By locator) {
         log("Waiting for invisibility: " + locator);
-        return performWait(ExpectedConditions.invisibilityOfElementLocated(locator));
+        if (useObserver(locator)) {
+            return runWait(waitKey("invisible " + locator), () -> observer.condition(locator, ObserverWaitEngine.INVISIBLE, null, null));
+        }
+        return performWait(waitKey("invisible " + locator), ExpectedConditions.invisibilityOfElementLocated(locator));
     }
 
     public Alert waitForAlert() {
         log("Waiting for alert");
-        return performWait(ExpectedConditions.alertIsPresent());
+        return performWait(waitKey("alert"), ExpectedConditions.alertIsPresent());
     }
 
     /* ---------- Validation Waits ---------- */
 
     public boolean waitForTextToBe(By locator, String text) {
         log("Waiting for text '" + text + "' in " + locator);
-        return performWait(ExpectedConditions.textToBe(locator, text));
+        if (useObserver(locator)) {
+            return runWait(waitKey("text " + locator), () -> observer.condition(locator, ObserverWaitEngine.TEXT_EQUALS, text, null));
+        }
+        return performWait(waitKey("text " + locator), ExpectedConditions.textToBe(locator, text));
     }
 
     public boolean waitForAttributeToContain(By locator, String attr, String value) {
         log("Waiting for attribute '" + attr + "' to contain '" + value + "'");
-        return performWait(
+        if (useObserver(locator)) {
+            return runWait(waitKey("attribute " + locator), () -> observer.condition(locator, ObserverWaitEngine.ATTRIBUTE_CONTAINS, attr, value));
+        }
+        return performWait(waitKey("attribute " + locator),
                 ExpectedConditions.attributeContains(driver.findElement(locator), attr, value)
         );
     }
 
     public boolean waitForAttributeToBe(By locator, String attr, String value) {
         log("Waiting for attribute '" + attr + "' to be '" + value + "'");
-        return performWait(
+        if (useObserver(locator)) {
+            return runWait(waitKey("attribute " + locator), () -> observer.condition(locator, ObserverWaitEngine.ATTRIBUTE_EQUALS, attr, value));
+        }
+        return performWait(waitKey("attribute " + locator),
                 ExpectedConditions.attributeToBe(driver.findElement(locator), attr, value)
         );
     }
 
     public boolean waitForCssValue(By locator, String property, String expected) {
         log("Waiting for CSS '" + property + "' to be '" + expected + "'");
-        return performWait(d ->
+        return performWait(waitKey("css " + locator), d ->
                 d.findElement(locator)
                         .getCssValue(property)
                         .equalsIgnoreCase(expected)
@@ -103,7 +144,7 @@ public class WaitHelper {
 
     public void waitForPageToLoad() {
         log("Waiting for page load");
-        performWait(d ->
+        performWait(waitKey("pageLoad"), d ->
                 Objects.equals(((JavascriptExecutor) d)
                         .executeScript("return document.readyState"), "complete")
         );
@@ -111,7 +152,7 @@ public class WaitHelper {
 
     public void waitForAjaxToComplete() {
         log("Waiting for AJAX to complete");
-        performWait(d -> {
+        performWait(waitKey("ajax"), d -> {
             try {
                 Object active = ((JavascriptExecutor) d)
                         .executeScript("return window.jQuery ? jQuery.active : 0");
@@ -123,16 +164,28 @@ public class WaitHelper {
     }
 
     public boolean waitForTitleContains(String title) {
-        return performWait(ExpectedConditions.titleContains(title));
+        return performWait(waitKey("title"), ExpectedConditions.titleContains(title));
     }
 
     public boolean waitForUrlContains(String urlPart) {
-        return performWait(ExpectedConditions.urlContains(urlPart));
+        return performWait(waitKey("url"), ExpectedConditions.urlContains(urlPart));
     }
 
     /* ---------- Stability ---------- */
 
     public boolean waitForElementToBeStable(By locator, int stableMillis, int pollMillis, int timeoutSec) {
+        if (useObserver(locator)) {
+            // DOM quiescence is detected in the page — no outerHTML snapshots shipped back per poll
+            // Not stable in time is an answer (false), not a wait failure
+            return runWait(waitKey("stable " + locator), () -> {
+                try {
+                    return observer.stable(locator, stableMillis, timeoutSec * 1000L);
+                } catch (TimeoutException e) {
+                    return false;
+                }
+            });
+        }
+
         long end = System.currentTimeMillis() + timeoutSec * 1000L;
         long stableUntil = 0;
         String lastSnapshot = null;
@@ -157,20 +210,59 @@ public class WaitHelper {
         return false;
     }
 
+    /**
+     * Runs an in-page actionability check (action.engine=script) as a wait, so it
+     * gets the same failure handling, wait metrics and JFR events as the WebDriver path.
+     */
+    public <T> T waitForActionable(String action, By locator, Supplier<T> check) {
+        log("Waiting for actionability (" + action + "): " + locator);
+        return runWait(waitKey("actionable " + action + " " + locator), check);
+    }
+
     /* ---------- Core performWait ---------- */
 
     public <T> T performWait(Function<WebDriver, T> condition) {
+        return performWait(waitKey("custom"), condition);
+    }
+
+    // Key identifies the wait for the adaptive engine's per-locator statistics
+    private <T> T performWait(String key, Function<WebDriver, T> condition) {
+        return runWait(key, () -> adaptive != null
+                ? adaptive.until(key, condition)
+                : wait.until(condition));
+    }
+
+    private String waitKey(String what) {
+        return owner + "|" + what;
+    }
+
+    // Runs a wait with the shared failure handling (log, report, screenshot)
+    private <T> T runWait(String key, Supplier<T> waitCall) {
+        long start = System.currentTimeMillis();
+        JfrEvents.WaitEvent event = JfrEvents.beginWait(key);
+        String outcome = "error";
         try {
-            return wait.until(condition);
+            T result = waitCall.get();
+            // Only boolean checks that report a timeout themselves (stability) return false
+            outcome = Boolean.FALSE.equals(result) ? "timeout" : "satisfied";
+            return result;
         } catch (TimeoutException e) {
+            outcome = "timeout";
             handleWaitFailure("Timeout waiting for condition", e);
             throw e;
         } catch (Exception e) {
             handleWaitFailure("Wait condition failed", e);
             throw e;
+        } finally {
+            JfrEvents.endWait(event, outcome);
+            ScenarioMetrics.addWaitMillis(System.currentTimeMillis() - start);
         }
     }
 
+    private boolean useObserver(By locator) {
+        return observer != null && ObserverWaitEngine.supports(locator);
+    }
+
     /* ---------- Utilities ---------- */
 
     public void sleep(int millis) {
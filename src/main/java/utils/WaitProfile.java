@@ -0,0 +1,153 @@
+package utils;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WaitProfile - run-wide time-to-satisfy statistics per wait key
+ * (page class + locator), used by the adaptive wait engine.
+ *
+ * The profile can be persisted between runs via wait.adaptive.profile=<path>:
+ * it is loaded on first use and written by {@link #save()}.
+ * Format: {@code <key>=<samples>,<typicalMillis>,<maxMillis>}
+ */
+public final class WaitProfile {
+
+    private static final Logger logger = LogManager.getLogger(WaitProfile.class);
+
+    // Weight of the newest sample in the moving average
+    private static final double ALPHA = 0.3;
+
+    private static final Map<String, Stats> PROFILE = new ConcurrentHashMap<>();
+    private static volatile boolean loaded;
+
+    private WaitProfile() {}
+
+    /**
+     * Learned statistics for this key, or null if it has never been seen.
+     */
+    public static Stats get(String key) {
+        ensureLoaded();
+        return PROFILE.get(key);
+    }
+
+    public static void record(String key, long elapsedMillis) {
+        ensureLoaded();
+        PROFILE.computeIfAbsent(key, k -> new Stats()).add(elapsedMillis);
+    }
+
+    /**
+     * Writes the profile to wait.adaptive.profile, if configured.
+     */
+    public static void save() {
+        Path file = profilePath();
+        if (file == null || PROFILE.isEmpty()) {
+            return;
+        }
+
+        Properties props = new Properties();
+        PROFILE.forEach((key, stats) -> props.setProperty(key, stats.serialize()));
+
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (OutputStream os = Files.newOutputStream(file)) {
+                props.store(os, "Adaptive wait profile: samples,typicalMillis,maxMillis");
+            }
+            logger.info("Saved adaptive wait profile ({} locators) to {}", PROFILE.size(), file);
+        } catch (IOException e) {
+            logger.warn("Unable to save adaptive wait profile {}: {}", file, e.getMessage());
+        }
+    }
+
+    private static void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+        synchronized (WaitProfile.class) {
+            if (loaded) {
+                return;
+            }
+            Path file = profilePath();
+            if (file != null && Files.isRegularFile(file)) {
+                Properties props = new Properties();
+                try (InputStream is = Files.newInputStream(file)) {
+                    props.load(is);
+                    props.forEach((k, v) -> {
+                        Stats stats = Stats.parse((String) v);
+                        if (stats != null) {
+                            PROFILE.put((String) k, stats);
+                        }
+                    });
+                    logger.info("Loaded adaptive wait profile ({} locators) from {}", PROFILE.size(), file);
+                } catch (IOException e) {
+                    logger.warn("Unable to load adaptive wait profile {}: {}", file, e.getMessage());
+                }
+            }
+            loaded = true;
+        }
+    }
+
+    private static Path profilePath() {
+        String path = ConfigReader.getProperty("wait.adaptive.profile");
+        return (path == null || path.isBlank()) ? null : Path.of(path.trim());
+    }
+
+    /**
+     * Per-key statistics. Typical = exponentially weighted moving average.
+     */
+    public static final class Stats {
+
+        private long samples;
+        private double typicalMillis;
+        private long maxMillis;
+
+        synchronized void add(long elapsedMillis) {
+            typicalMillis = samples == 0
+                    ? elapsedMillis
+                    : ALPHA * elapsedMillis + (1 - ALPHA) * typicalMillis;
+            maxMillis = Math.max(maxMillis, elapsedMillis);
+            samples++;
+        }
+
+        public synchronized long typicalMillis() {
+            return Math.round(typicalMillis);
+        }
+
+        public synchronized long maxMillis() {
+            return maxMillis;
+        }
+
+        public synchronized long samples() {
+            return samples;
+        }
+
+        synchronized String serialize() {
+            return samples + "," + Math.round(typicalMillis) + "," + maxMillis;
+        }
+
+        static Stats parse(String value) {
+            try {
+                String[] parts = value.split(",");
+                Stats stats = new Stats();
+                stats.samples = Long.parseLong(parts[0].trim());
+                stats.typicalMillis = Double.parseDouble(parts[1].trim());
+                stats.maxMillis = Long.parseLong(parts[2].trim());
+                return stats;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+    }
+}
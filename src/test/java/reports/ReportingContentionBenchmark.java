@@ -0,0 +1,158 @@
+package reports;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.Status;
+import utils.ConfigReader;
+import utils.ScenarioContext;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention benchmark for ExtentTestManager logging (not part of the suite).
+ *
+ * Compares the previous design (one static synchronized logStatus, int counters)
+ * with the current one (ReportEventBus + LongAdder counters + per-thread batched
+ * hand-off) at 1, 4, 8 and 16 threads. Each thread runs scenarios of
+ * LOGS_PER_SCENARIO log lines, like a WaitHelper/BasePage-heavy scenario.
+ *
+ * Both paths write to the same ExtentReports instance and to nothing else
+ * (report.sinks=extent), and both create their nodes under a lock, so the
+ * difference is the logging path itself: the current one includes bus dispatch
+ * and the EXTENT_LOCK drains.
+ *
+ * Run: mvn -q test-compile exec:java -Dexec.mainClass=reports.ReportingContentionBenchmark -Dexec.classpathScope=test
+ *
+ * Recorded results are in the README (Extent section).
+ */
+public class ReportingContentionBenchmark {
+
+    private static final int[] THREADS = {1, 4, 8, 16};
+    private static final int SCENARIOS_PER_THREAD = 50;
+    private static final int LOGS_PER_SCENARIO = 100;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) throws Exception {
+
+        // Same sinks on both sides: Extent only
+        System.setProperty("report.sinks", "extent");
+        ConfigReader.reload();
+
+        System.out.printf("%d CPU(s), %s%n",
+                Runtime.getRuntime().availableProcessors(), System.getProperty("java.vm.version"));
+        System.out.printf("%-8s %18s %18s %8s%n", "threads", "before (logs/s)", "after (logs/s)", "speedup");
+
+        for (int threads : THREADS) {
+            double before = 0;
+            double after = 0;
+
+            // First round is warm-up for the JIT; the order alternates so model growth hits both sides
+            for (int round = 0; round <= ROUNDS; round++) {
+                double b;
+                double a;
+                if (round % 2 == 0) {
+                    b = run(threads, ReportingContentionBenchmark::legacyScenario);
+                    a = run(threads, ReportingContentionBenchmark::currentScenario);
+                } else {
+                    a = run(threads, ReportingContentionBenchmark::currentScenario);
+                    b = run(threads, ReportingContentionBenchmark::legacyScenario);
+                }
+                if (round > 0) {
+                    before += b;
+                    after += a;
+                }
+            }
+
+            before /= ROUNDS;
+            after /= ROUNDS;
+            System.out.printf("%-8d %,18.0f %,18.0f %7.2fx%n", threads, before, after, after / before);
+        }
+    }
+
+    private static double run(int threads, Runnable scenario) throws InterruptedException {
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(threads);
+
+        for (int t = 0; t < threads; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < SCENARIOS_PER_THREAD; i++) {
+                        scenario.run();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        done.await();
+        long elapsed = System.nanoTime() - begin;
+
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        long logs = (long) threads * SCENARIOS_PER_THREAD * LOGS_PER_SCENARIO;
+        return logs / (elapsed / 1_000_000_000.0);
+    }
+
+    /* =========================
+       After: ReportEventBus -> ExtentSink
+       ========================= */
+
+    private static void currentScenario() {
+        String name = "bench-" + Thread.currentThread().getName();
+        ScenarioContext.setScenarioName(name);
+        ReportEventBus.publish(new ReportEvent.ScenarioStarted(name, List.of(), null));
+        for (int i = 0; i < LOGS_PER_SCENARIO; i++) {
+            ExtentTestManager.logStatus(i % 10 == 0 ? Status.PASS : Status.INFO, "Waiting for visibility: step " + i);
+        }
+        ReportEventBus.publish(new ReportEvent.ScenarioFinished(name, false));
+    }
+
+    /* =========================
+       Before: global monitor
+       ========================= */
+
+    // Same instance ExtentTestManager writes to
+    private static final ExtentReports LEGACY_EXTENT = ExtentManager.createInstance();
+    private static final Map<String, ExtentTest> LEGACY_PARENTS = new ConcurrentHashMap<>();
+    private static final ThreadLocal<ExtentTest> LEGACY_CHILD = new ThreadLocal<>();
+    private static final Object LEGACY_LOCK = new Object();
+    private static int legacyPass;
+    private static int legacyInfo;
+
+    private static void legacyScenario() {
+        String name = "legacy-" + Thread.currentThread().getName();
+        synchronized (LEGACY_LOCK) {
+            ExtentTest parent = LEGACY_PARENTS.computeIfAbsent(name, LEGACY_EXTENT::createTest);
+            LEGACY_CHILD.set(parent.createNode("Execution"));
+        }
+        for (int i = 0; i < LOGS_PER_SCENARIO; i++) {
+            legacyLog(i % 10 == 0 ? Status.PASS : Status.INFO, "Waiting for visibility: step " + i);
+        }
+        legacyFinish();
+    }
+
+    private static synchronized void legacyLog(Status status, String message) {
+        LEGACY_CHILD.get().log(status, message);
+        if (status == Status.PASS) legacyPass++;
+        else legacyInfo++;
+    }
+
+    private static synchronized void legacyFinish() {
+        legacyPass++;
+    }
+}
@@ -2,17 +2,36 @@ package runners;
 
 import io.cucumber.testng.AbstractTestNGCucumberTests;
 import io.cucumber.testng.CucumberOptions;
+import io.cucumber.testng.FeatureWrapper;
+import io.cucumber.testng.Pickle;
+import io.cucumber.testng.PickleWrapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
 import utils.ConfigReader;
+import utils.DataSource;
 import utils.RetryListener;
+import utils.ScenarioContext;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * TestNG Cucumber runner with Allure + Extent integration.
  * Preserves parallel execution and retry listener.
+ *
+ * Scenarios tagged @dataSource(sheet=...) / @dataSource(json=...) are expanded
+ * here into one parallel DataProvider entry per data row (see utils.DataSource).
+ * Each row runs as its own pickle named "<scenario> [<row>]", so Cucumber JSON,
+ * Allure, Extent and TestNG list the rows separately.
  */
 @Listeners({RetryListener.class})
 @CucumberOptions(
@@ -23,7 +42,8 @@ import utils.RetryListener;
                 "pretty",
                 "html:target/cucumber-reports.html",
                 "json:target/cucumber.json",
-                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm" // ✅ Added Allure plugin
+                "io.qameta.allure.cucumber7jvm.AllureCucumber7Jvm", // ✅ Added Allure plugin
+                "reports.MetricsPlugin" // ✅ reports/metrics.jsonl + per-feature percentiles
         },
         monochrome = true
 )
@@ -31,6 +51,21 @@ public class TestRunner extends AbstractTestNGCucumberTests {
 
         private static final Logger logger = LogManager.getLogger(TestRunner.class);
 
+        // io.cucumber.testng.Pickle only wraps / exposes Cucumber's core pickle package-privately
+        private static final Constructor<Pickle> WRAP_PICKLE;
+        private static final Method CORE_PICKLE;
+
+        static {
+                try {
+                        WRAP_PICKLE = Pickle.class.getDeclaredConstructor(io.cucumber.core.gherkin.Pickle.class);
+                        WRAP_PICKLE.setAccessible(true);
+                        CORE_PICKLE = Pickle.class.getDeclaredMethod("getPickle");
+                        CORE_PICKLE.setAccessible(true);
+                } catch (NoSuchMethodException e) {
+                        throw new ExceptionInInitializerError(e);
+                }
+        }
+
         @BeforeClass(alwaysRun = true)
         public static void beforeClass() {
 
@@ -46,6 +81,107 @@ public class TestRunner extends AbstractTestNGCucumberTests {
         @Override
         @DataProvider(parallel = true) // ✅ Keep parallel execution configurable
         public Object[][] scenarios() {
-                return super.scenarios();
+
+                Object[][] scenarios = super.scenarios();
+                List<Object[]> expanded = new ArrayList<>(scenarios.length);
+
+                for (Object[] scenario : scenarios) {
+                        Pickle pickle = ((PickleWrapper) scenario[0]).getPickle();
+                        Optional<DataSource> source = DataSource.fromTags(pickle.getTags());
+
+                        if (source.isEmpty()) {
+                                expanded.add(scenario);
+                                continue;
+                        }
+
+                        // ✅ One execution per row, fed to the same parallel pool
+                        List<DataSource.Row> rows = source.get().rows();
+                        if (rows.isEmpty()) {
+                                logger.warn("Scenario '{}' ({}:{}) selects no rows of {} (dataSource.rows={}, dataSource.shard={}) — it will not run",
+                                        pickle.getName(), pickle.getUri(), pickle.getLine(), source.get().name(),
+                                        ConfigReader.getProperty("dataSource.rows", ""),
+                                        ConfigReader.getProperty("dataSource.shard", ""));
+                                continue;
+                        }
+                        logger.info("Scenario '{}' expanded over {} ({} rows)",
+                                pickle.getName(), source.get().name(), rows.size());
+
+                        for (DataSource.Row row : rows) {
+                                expanded.add(new Object[]{DataRowPickle.of(pickle, row), scenario[1]});
+                        }
+                }
+
+                return expanded.toArray(Object[][]::new);
+        }
+
+        @Override
+        @Test(groups = "cucumber", description = "Runs Cucumber Scenarios", dataProvider = "scenarios")
+        public void runScenario(PickleWrapper pickleWrapper, FeatureWrapper featureWrapper) {
+
+                // Bound for the whole execution (hooks, steps, plugins) — retries included
+                if (pickleWrapper instanceof DataRowPickle rowPickle) {
+                        DataSource.bind(rowPickle.row());
+                        ScenarioContext.setExecutionKey(rowPickle.sourceId() + "#" + rowPickle.row().key());
+                } else {
+                        ScenarioContext.setExecutionKey(core(pickleWrapper.getPickle()).getId());
+                }
+
+                try {
+                        super.runScenario(pickleWrapper, featureWrapper);
+                } finally {
+                        DataSource.unbind();
+                }
+        }
+
+        private static io.cucumber.core.gherkin.Pickle core(Pickle pickle) {
+                try {
+                        return (io.cucumber.core.gherkin.Pickle) CORE_PICKLE.invoke(pickle);
+                } catch (IllegalAccessException | InvocationTargetException e) {
+                        throw new IllegalStateException("Cannot read Cucumber pickle of " + pickle.getName(), e);
+                }
+        }
+
+        /**
+         * A pickle plus the data row it runs with. The pickle is the source pickle
+         * renamed "<scenario> [<row>]"; its id stays the source id, which is what
+         * Cucumber's parsed Gherkin messages refer to.
+         */
+        private record DataRowPickle(Pickle pickle, String sourceId, DataSource.Row row) implements PickleWrapper {
+
+                static DataRowPickle of(Pickle source, DataSource.Row row) {
+
+                        io.cucumber.core.gherkin.Pickle core = core(source);
+                        String name = core.getName() + " [" + row + "]";
+
+                        io.cucumber.core.gherkin.Pickle renamed = (io.cucumber.core.gherkin.Pickle) Proxy.newProxyInstance(
+                                io.cucumber.core.gherkin.Pickle.class.getClassLoader(),
+                                new Class<?>[]{io.cucumber.core.gherkin.Pickle.class},
+                                (proxy, method, args) -> {
+                                        if (method.getName().equals("getName") && method.getParameterCount() == 0) {
+                                                return name;
+                                        }
+                                        try {
+                                                return method.invoke(core, args);
+                                        } catch (InvocationTargetException e) {
+                                                throw e.getCause();
+                                        }
+                                });
+
+                        try {
+                                return new DataRowPickle(WRAP_PICKLE.newInstance(renamed), core.getId(), row);
+                        } catch (ReflectiveOperationException e) {
+                                throw new IllegalStateException("Cannot create data row pickle for " + name, e);
+                        }
+                }
+
+                @Override
+                public Pickle getPickle() {
+                        return pickle;
+                }
+
+                @Override
+                public String toString() {
+                        return "\"" + pickle.getName() + "\"";
+                }
         }
-}
\ No newline at end of file
+}
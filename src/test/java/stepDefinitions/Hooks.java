@@ -3,19 +3,19 @@ package stepDefinitions;
 import base.BaseTest;
 import com.aventstack.extentreports.Status;
 import io.cucumber.java.*;
-import io.qameta.allure.Allure;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.ThreadContext;
 import org.openqa.selenium.JavascriptExecutor;
-import org.openqa.selenium.OutputType;
-import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
 import factory.DriverFactory;
 import reports.ExtentTestManager;
+import reports.ReportEvent;
+import reports.ReportEventBus;
+import reports.ScenarioBudget;
+import reports.ScenarioMetrics;
 import utils.*;
 
-import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.Map;
 
@@ -26,8 +26,12 @@ public class Hooks extends BaseTest {
     @Before
     public void beforeScenario(Scenario scenario) {
 
+        JfrEvents.beginScenario(scenario.getName(), String.join(",", scenario.getSourceTagNames()));
+
         // 1. Scenario metadata
+        ScenarioMetrics.reset();
         ScenarioContext.setScenarioName(scenario.getName());
+        ScenarioContext.setTags(scenario.getSourceTagNames());
         ThreadContext.put("scenario", scenario.getName());
 
         logger.info("Starting scenario: {}", scenario.getName());
@@ -37,8 +41,19 @@ public class Hooks extends BaseTest {
         DriverFactory.initializeDriver();
         setUp();
 
-        // 3. Create parent + child Extent nodes
-        ExtentTestManager.startScenario();
+        // 3. Report sinks (Extent parent + child nodes, Cucumber binding, ...)
+        ReportEventBus.publish(new ReportEvent.ScenarioStarted(
+                scenario.getName(), scenario.getSourceTagNames(), scenario));
+
+        DriverFactory.StartupTiming timing = DriverFactory.getStartupTiming();
+        if (timing != null) {
+            ScenarioMetrics.setDriverStartup(timing.blockedMillis(), timing.launchMillis());
+            ExtentTestManager.logStatus(Status.INFO,
+                    "Driver startup: waited " + timing.blockedMillis() + " ms"
+                            + (timing.hiddenMillis() > 0
+                            ? ", " + timing.hiddenMillis() + " ms hidden by pre-warm/pool/context"
+                            : ""));
+        }
     }
 
     @AfterStep
@@ -46,37 +61,14 @@ public class Hooks extends BaseTest {
 
         WebDriver driver = DriverFactory.getDriver();
 
-        if (scenario.isFailed()) {
-
-            ExtentTestManager.logStatus(Status.FAIL, "Step failed");
-
-            try {
-                if (driver instanceof TakesScreenshot ts) {
-                    byte[] screenshot = ts.getScreenshotAs(OutputType.BYTES);
-
-                    // Cucumber
-                    scenario.attach(screenshot, "image/png", "Failure Screenshot");
-
-                    // Allure
-                    Allure.addAttachment(
-                            "Failure Screenshot",
-                            "image/png",
-                            new ByteArrayInputStream(screenshot),
-                            "png"
-                    );
-
-                    // Extent
-                    ExtentTestManager.captureScreenshot(
-                            driver,
-                            scenario.getName().replaceAll("\\s+", "_")
-                    );
-                }
-            } catch (Exception e) {
-                logger.warn("Screenshot capture failed: {}", e.getMessage());
-            }
+        ReportEventBus.publish(new ReportEvent.StepFinished(scenario.getName(), scenario.isFailed()));
 
-        } else {
-            ExtentTestManager.logStatus(Status.PASS, "Step passed");
+        if (scenario.isFailed() && driver != null) {
+            // Captured once; Extent, Cucumber and Allure all get the same stored image
+            ExtentTestManager.captureScreenshot(
+                    driver,
+                    scenario.getName().replaceAll("\\s+", "_")
+            );
         }
     }
 
@@ -108,23 +100,46 @@ public class Hooks extends BaseTest {
             logger.warn("Failed to update BrowserStack session: {}", e.getMessage());
         }
 
+        String blocked = DriverFactory.recordNetworkBlocking();
+        if (blocked != null) {
+            ExtentTestManager.logStatus(Status.INFO, "🚫 " + blocked);
+        }
+
+        // Round-trip budgets (@maxCommands=N, @maxWaitMs=N or budget.* config)
+        List<String> overBudget = ScenarioBudget.violations();
+        boolean failBudget = !overBudget.isEmpty() && ScenarioBudget.failOnViolation();
+        for (String violation : overBudget) {
+            ExtentTestManager.logStatus(failBudget ? Status.FAIL : Status.WARNING, "💸 Over budget: " + violation);
+        }
+
         // Finish reporting
-        ExtentTestManager.finishScenario(scenario.isFailed());
+        ReportEventBus.publish(new ReportEvent.ScenarioFinished(
+                scenario.getName(), scenario.isFailed() || failBudget));
 
-        // Driver teardown
-        tearDown();
+        // Driver teardown (returned to the pool when driver.pool=true)
+        tearDown(scenario.isFailed());
 
         // Cleanup contexts
         TestDataContext.clear();
         ScenarioContext.clear();
+        ConfigReader.clearThreadOverrides();
         ThreadContext.clearMap();
 
+        JfrEvents.endScenario(failBudget ? "FAILED" : scenario.getStatus().name());
+
         logger.info("Finished scenario: {}", scenario.getName());
+
+        if (failBudget) {
+            // Thrown last so the driver and contexts are already cleaned up
+            throw new AssertionError("Scenario exceeded its budget: " + String.join("; ", overBudget));
+        }
     }
 
     @AfterAll
     public static void afterAll() {
-        ExtentTestManager.addSummary();
+        DriverFactory.shutdown();
+        WaitProfile.save();
+        ReportEventBus.close();
         LogManager.getLogger(Hooks.class)
                 .info("All scenarios completed. Summary added to report.");
     }
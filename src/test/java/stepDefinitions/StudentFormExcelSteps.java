@@ -23,6 +23,15 @@ public class StudentFormExcelSteps {
         studentFormPage.fillTextFields(data);
     }
 
+    @Given("user fills student form using the current data row")
+    public void userFillsStudentFormUsingCurrentDataRow() {
+
+        Map<String, String> data = TestDataLoader.loadCurrentRow();
+
+        studentFormPage.openStudentForm();
+        studentFormPage.fillTextFields(data);
+    }
+
     @When("user uploads profile picture {string}")
     public void userUploadsProfilePicture(String fileName) {
         studentFormPage.uploadProfilePicture("testdata/files/" + fileName);
@@ -1,6 +1,5 @@
 package utils;
 
-import com.aventstack.extentreports.Status;
 import factory.DriverFactory;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -9,6 +8,8 @@ import org.testng.IRetryAnalyzer;
 import org.testng.ITestResult;
 import org.testng.SkipException;
 import reports.ExtentTestManager;
+import reports.ReportEvent;
+import reports.ReportEventBus;
 
 import java.net.ConnectException;
 import java.net.SocketTimeoutException;
@@ -58,10 +59,7 @@ public class RetryAnalyzer implements IRetryAnalyzer {
                 nameForLog, attempt, maxRetry, failure.getClass().getSimpleName()
         );
 
-        ExtentTestManager.logStatus(
-                Status.WARNING,
-                "🔁 Retrying scenario (attempt " + attempt + "/" + maxRetry + ")"
-        );
+        ReportEventBus.publish(new ReportEvent.Retry(nameForLog, attempt, maxRetry));
 
         WebDriver driver = DriverFactory.getDriver();
         if (driver != null) {
@@ -0,0 +1,13 @@
+Feature: Student Registration Form Using a Data Source
+
+  As a user
+  I want to fill out the student registration form once per row of a sheet
+  So that new test data does not need a matching Examples row
+
+# Runs once per row of the StudentForm sheet (expanded by TestRunner; shard with -DdataSource.rows / -DdataSource.shard)
+@excel @dataSource(sheet=StudentForm)
+Scenario: Fill student registration form for every excel row
+  Given user fills student form using the current data row
+  When user uploads profile picture "Photo.JPG"
+  And user selects date of birth "08" "August" "1997" and select gender hobby
+  Then student form should be populated correctly using excel data